@@ -12,22 +12,40 @@ import ch.zhaw.pm2.racetrack.strategy.UserMovement;
  * Class representing a car on the racetrack.
  * Uses {@link PositionVector} to store current position on the track grid and current velocity vector.
  * Each car has an identifier character which represents the car on the race track board.
- * Also keeps the state, if the car is crashed (not active anymore). The state can not be changed back to not crashed.
+ * Also keeps the state, if the car is crashed (not active anymore). The state can not be changed back to not crashed,
+ * except by restoring a snapshot of the game ({@link #restore(int, int, int, int, boolean)}).
  * The velocity is changed by providing an acceleration vector.
  * The car is able to calculate the endpoint of its next position and on request moves to it.
  */
 public class Car {
     private char id;
-    private PositionVector position;
-    private PositionVector velocity;
+    private final String name;
+    private int positionX;
+    private int positionY;
+    private int velocityX;
+    private int velocityY;
     private boolean isCrashed;
     private StrategyType strategyType;
     private MoveStrategy moveStrategy;
 
     public Car(char id, int positionX, int positionY) {
+        this(id, Character.toString(id), positionX, positionY);
+    }
+
+    /**
+     * Creates a car whose name differs from its id character, e.g. a car of a car slot
+     * ({@link Config#CAR_SLOT}) whose id character is shared by all slots.
+     *
+     * @param id        character representing the car on the track
+     * @param name      unique name of the car, e.g. to find its section in a move file
+     * @param positionX horizontal coordinate of the start position
+     * @param positionY vertical coordinate of the start position
+     */
+    public Car(char id, String name, int positionX, int positionY) {
         this.id = id;
-        position = new PositionVector(positionX, positionY);
-        velocity = new PositionVector(0, 0);
+        this.name = name;
+        this.positionX = positionX;
+        this.positionY = positionY;
         isCrashed = false;
     }
 
@@ -35,12 +53,35 @@ public class Car {
         return id;
     }
 
+    /**
+     * @return the unique name of the car: its id character, or {@link Config#CAR_SLOT} and the number of the slot
+     */
+    public String getName() {
+        return name;
+    }
+
     public PositionVector getPosition() {
-        return position;
+        return new PositionVector(positionX, positionY);
     }
 
     public PositionVector getVelocity() {
-        return velocity;
+        return new PositionVector(velocityX, velocityY);
+    }
+
+    public int getPositionX() {
+        return positionX;
+    }
+
+    public int getPositionY() {
+        return positionY;
+    }
+
+    public int getVelocityX() {
+        return velocityX;
+    }
+
+    public int getVelocityY() {
+        return velocityY;
     }
 
     public boolean getCarCrashStatus() {
@@ -48,35 +89,51 @@ public class Car {
     }
 
     /**
-     * Sets strategy for car
+     * Sets strategy for car. Only called by {@link Game}, which counts the cars able to move.
      *
      * @param strategyType
      * @param pathName
      */
-    public void setStrategyType(StrategyType strategyType, String pathName) {
+    void setStrategyType(StrategyType strategyType, String pathName) {
         this.strategyType = strategyType;
         if (strategyType == StrategyType.USER) {
             this.moveStrategy = new UserMovement();
         } else if (strategyType == StrategyType.DO_NOT_MOVE) {
             this.moveStrategy = new NoMovement();
         } else if (strategyType == StrategyType.MOVE_LIST) {
-            this.moveStrategy = new FileMovement(pathName, Character.toString(this.getID()));
+            this.moveStrategy = new FileMovement(pathName, name);
         } else if (strategyType == StrategyType.PATH_FOLLOWER) {
-            this.moveStrategy = new PathFollower(pathName, Character.toString(this.getID()), this.position);
+            this.moveStrategy = new PathFollower(pathName, name, getPosition());
         }
     }
 
+    /**
+     * Sets a strategy which has been created by the caller, e.g. a strategy which needs the track. Only called by
+     * {@link Game}, which counts the cars able to move.
+     *
+     * @param strategyType type of the strategy
+     * @param moveStrategy the strategy deciding the moves of this car
+     */
+    void setMoveStrategy(StrategyType strategyType, MoveStrategy moveStrategy) {
+        this.strategyType = strategyType;
+        this.moveStrategy = moveStrategy;
+    }
+
     public StrategyType getStrategyType() {
         return strategyType;
     }
 
+    public MoveStrategy getMoveStrategy() {
+        return moveStrategy;
+    }
+
     /**
      * This Method calculate the new Position and give it back.
      *
      * @return The new PositionVector
      */
     public PositionVector nextPosition() {
-        return PositionVectorHelper.add(position, velocity);
+        return new PositionVector(positionX + velocityX, positionY + velocityY);
     }
 
     /**
@@ -85,24 +142,70 @@ public class Car {
      * @param direction The new Direction
      */
     public void accelerate(Direction direction) {
-        velocity = PositionVectorHelper.add(direction.vector, velocity);
+        velocityX += direction.vector.getX();
+        velocityY += direction.vector.getY();
     }
 
     /**
      * Moves the Player to the next Position
      */
     public void move(PositionVector nextPosition) {
-        position = nextPosition;
+        move(nextPosition.getX(), nextPosition.getY());
+    }
+
+    /**
+     * Moves the Player to the given coordinates
+     */
+    public void move(int x, int y) {
+        positionX = x;
+        positionY = y;
     }
 
     /**
      * Method for a Car which will crashed
      */
     public void crash(PositionVector nextPosition) {
-        position = nextPosition;
+        crash(nextPosition.getX(), nextPosition.getY());
+    }
+
+    /**
+     * Method for a Car which crashed at the given coordinates
+     */
+    public void crash(int x, int y) {
+        move(x, y);
         isCrashed = true;
     }
 
+    /**
+     * Restores a state of the car captured earlier, e.g. from a snapshot of the game.
+     *
+     * @param x         horizontal coordinate of the position
+     * @param y         vertical coordinate of the position
+     * @param velocityX horizontal velocity
+     * @param velocityY vertical velocity
+     * @param crashed   true if the car is crashed
+     */
+    public void restore(int x, int y, int velocityX, int velocityY, boolean crashed) {
+        positionX = x;
+        positionY = y;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        isCrashed = crashed;
+    }
+
+    /**
+     * Creates a copy of the state of the car: id, position, velocity, crash state and strategy type.
+     * The strategy is not copied, the copy does not accelerate ({@link NoMovement}).
+     *
+     * @return the copy
+     */
+    public Car copy() {
+        Car copy = new Car(id, name, positionX, positionY);
+        copy.restore(positionX, positionY, velocityX, velocityY, isCrashed);
+        copy.setMoveStrategy(strategyType, new NoMovement());
+        return copy;
+    }
+
     /**
      * Set the data field crashed to true.
      */
@@ -0,0 +1,94 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.collections.IntIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Mutable occupancy layer of a {@link Track}.
+ *
+ * <p>Stores which space of the grid is occupied by which car. Spaces are addressed by their index on the flat
+ * track grid ({@code y * width + x}), cars by their zero-based car index. The layer only holds one entry per car,
+ * so its size does not depend on the size of the track. Lookups in both directions run in constant time.</p>
+ */
+public class CarOccupancy {
+    public static final int FREE = -1;
+
+    private int[] carCells = new int[0];
+    private final IntIntMap cellCars;
+
+    public CarOccupancy() {
+        cellCars = new IntIntMap(FREE);
+    }
+
+    private CarOccupancy(int carCount) {
+        cellCars = new IntIntMap(FREE, carCount);
+    }
+
+    /**
+     * Creates an independent copy of the layer in time proportional to the amount of cars.
+     *
+     * @return the copy
+     */
+    public CarOccupancy copy() {
+        CarOccupancy copy = new CarOccupancy(carCells.length);
+        copy.carCells = Arrays.copyOf(carCells, carCells.length);
+        for (int carIndex = 0; carIndex < carCells.length; carIndex++) {
+            if (carCells[carIndex] != FREE) {
+                copy.cellCars.put(carCells[carIndex], carIndex);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the index of the car occupying the given space.
+     *
+     * @param cell index of the space on the track grid
+     * @return the zero-based car index or {@link #FREE} if no car occupies the space
+     */
+    public int getCar(int cell) {
+        return cellCars.get(cell);
+    }
+
+    /**
+     * Returns the space occupied by the given car.
+     *
+     * @param carIndex the zero-based car index
+     * @return the index of the space on the track grid or {@link #FREE} if the car is not on the track
+     */
+    public int getCell(int carIndex) {
+        return carIndex < carCells.length ? carCells[carIndex] : FREE;
+    }
+
+    /**
+     * Places a car on the given space. If the car occupied another space before, that space is freed.
+     *
+     * @param carIndex the zero-based car index
+     * @param cell     index of the space on the track grid, must not be occupied by another car
+     */
+    public void place(int carIndex, int cell) {
+        remove(carIndex);
+        if (carIndex >= carCells.length) {
+            int oldLength = carCells.length;
+            carCells = Arrays.copyOf(carCells, carIndex + 1);
+            Arrays.fill(carCells, oldLength, carCells.length, FREE);
+        }
+        cellCars.put(cell, carIndex);
+        carCells[carIndex] = cell;
+    }
+
+    /**
+     * Removes a car from the track and frees the space it occupied.
+     *
+     * @param carIndex the zero-based car index
+     */
+    public void remove(int carIndex) {
+        int cell = getCell(carIndex);
+        if (cell == FREE) {
+            return;
+        }
+        carCells[carIndex] = FREE;
+        cellCars.remove(cell);
+    }
+}
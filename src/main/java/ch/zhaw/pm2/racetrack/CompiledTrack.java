@@ -0,0 +1,216 @@
+package ch.zhaw.pm2.racetrack;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary representation of a parsed track file, stored next to the text file as parse cache.
+ *
+ * <p>The binary file has the following layout (big endian):
+ * <ul>
+ *   <li>int: magic number {@link #MAGIC}</li>
+ *   <li>int: grid width, int: grid height</li>
+ *   <li>long: length of the text file, long: CRC32C content hash of the text file</li>
+ *   <li>byte[width * height]: the {@link Config.SpaceType} ordinal of each space (index {@code y * width + x}),
+ *       starting positions of cars are stored as TRACK</li>
+ *   <li>int: amount of cars, followed by a char (car id) and an int (grid index) for each car</li>
+ * </ul>
+ * </p>
+ * <p>A compiled track is only used if length and content hash match the current text file.
+ * Otherwise the text file has to be parsed again.</p>
+ * <p>If the system property {@link #CACHE_DIRECTORY_PROPERTY} is set, the compiled tracks are stored in that
+ * directory instead of next to the text files, e.g. in the build directory while the tests run. The name of the
+ * directory of the text file is then part of the file name, so tracks with the same name in different directories
+ * do not replace each other.</p>
+ */
+public class CompiledTrack {
+    public static final int MAGIC = 0x52544B31;
+    public static final String FILE_EXTENSION = ".rtb";
+    public static final String CACHE_DIRECTORY_PROPERTY = "racetrack.trackCacheDirectory";
+
+    private static final Config.SpaceType[] SPACE_TYPES = Config.SpaceType.values();
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final int width;
+    private final int height;
+    private final char[] trackCharacters;
+
+    private CompiledTrack(int width, int height, char[] trackCharacters) {
+        this.width = width;
+        this.height = height;
+        this.trackCharacters = trackCharacters;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the characters of the track grid as one flat array (index {@code y * width + x}),
+     * including the characters of the cars at their starting positions.
+     *
+     * @return the flat character grid
+     */
+    public char[] getTrackCharacters() {
+        return trackCharacters;
+    }
+
+    /**
+     * Returns the file the compiled version of the given track file is stored in.
+     *
+     * @param trackFile the track text file
+     * @return the compiled track file next to the text file or in the {@link #CACHE_DIRECTORY_PROPERTY} directory
+     */
+    public static File getCompiledFile(File trackFile) {
+        String name = trackFile.getName();
+        int extension = name.lastIndexOf('.');
+        String baseName = (extension > 0) ? name.substring(0, extension) : name;
+        File trackDirectory = trackFile.getAbsoluteFile().getParentFile();
+        String cacheDirectory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+        if (cacheDirectory == null) {
+            return new File(trackDirectory, baseName + FILE_EXTENSION);
+        }
+        String directoryId = Integer.toHexString(trackDirectory.getPath().hashCode());
+        return new File(cacheDirectory, baseName + "_" + directoryId + FILE_EXTENSION);
+    }
+
+    /**
+     * Calculates the CRC32C content hash of the given file.
+     *
+     * @param file file to hash
+     * @return the content hash
+     * @throws IOException if the file could not be read
+     */
+    public static long calculateContentHash(File file) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Loads a compiled track. The file is read in one piece and closed before the track is decoded. It is not
+     * memory mapped, because a mapping keeps the file open (and locked on Windows) until it is garbage collected,
+     * which would block {@link #write} from replacing a stale compiled track.
+     *
+     * @param compiledFile the compiled track file
+     * @param sourceLength expected length of the text file
+     * @param sourceHash   expected content hash of the text file
+     * @return the compiled track, or null if the file does not exist, is damaged or belongs to another text file
+     */
+    public static CompiledTrack load(File compiledFile, long sourceLength, long sourceHash) {
+        if (!compiledFile.isFile()) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(compiledFile.toPath(), StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // read until the buffer is full or the file ends
+            }
+        } catch (IOException | ArithmeticException e) {
+            return null;
+        }
+        buffer.flip();
+        try {
+            if (buffer.getInt() != MAGIC) {
+                return null;
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            if (buffer.getLong() != sourceLength || buffer.getLong() != sourceHash
+                || width <= 0 || height <= 0 || (long) width * height > buffer.remaining()) {
+                return null;
+            }
+            char[] trackCharacters = new char[width * height];
+            for (int index = 0; index < trackCharacters.length; index++) {
+                trackCharacters[index] = SPACE_TYPES[buffer.get()].getChar();
+            }
+            int carCount = buffer.getInt();
+            for (int car = 0; car < carCount; car++) {
+                char id = buffer.getChar();
+                trackCharacters[buffer.getInt()] = id;
+            }
+            return new CompiledTrack(width, height, trackCharacters);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the compiled version of a parsed track. The file is written to a temporary file first and then
+     * moved into place, so concurrent readers never see a partially written file.
+     *
+     * @param compiledFile    the compiled track file
+     * @param sourceLength    length of the text file
+     * @param sourceHash      content hash of the text file
+     * @param width           grid width
+     * @param height          grid height
+     * @param trackCharacters the flat character grid, including the cars
+     * @throws IOException if the file could not be written
+     */
+    public static void write(File compiledFile, long sourceLength, long sourceHash,
+                             int width, int height, char[] trackCharacters) throws IOException {
+        File directory = compiledFile.getAbsoluteFile().getParentFile();
+        Files.createDirectories(directory.toPath());
+        File tempFile = File.createTempFile(compiledFile.getName(), ".tmp", directory);
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(width);
+                output.writeInt(height);
+                output.writeLong(sourceLength);
+                output.writeLong(sourceHash);
+                int carCount = 0;
+                for (char character : trackCharacters) {
+                    Config.SpaceType spaceType = getSpaceTypeOfCharacter(character);
+                    if (spaceType == null) {
+                        carCount++;
+                        spaceType = Config.SpaceType.TRACK;
+                    }
+                    output.writeByte(spaceType.ordinal());
+                }
+                output.writeInt(carCount);
+                for (int index = 0; index < trackCharacters.length; index++) {
+                    if (getSpaceTypeOfCharacter(trackCharacters[index]) == null) {
+                        output.writeChar(trackCharacters[index]);
+                        output.writeInt(index);
+                    }
+                }
+            }
+            Files.move(tempFile.toPath(), compiledFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private static Config.SpaceType getSpaceTypeOfCharacter(char character) {
+        for (Config.SpaceType spaceType : SPACE_TYPES) {
+            if (spaceType.getChar() == character) {
+                return spaceType;
+            }
+        }
+        return null;
+    }
+}
@@ -3,13 +3,21 @@ package ch.zhaw.pm2.racetrack;
 import java.io.File;
 
 public class Config {
+    // Maximum amount of cars with their own id character
     public static final int MAX_CARS = 9;
+    // Track character of a car slot: a car without own id character, any amount of slots up to MAX_CAR_SLOTS
+    public static final char CAR_SLOT = '*';
+    public static final int MAX_CAR_SLOTS = 4096;
+    public static final int DEFAULT_TARGET_FRAMES_PER_SECOND = 30;
 
     // Directory containing the track files
     private File trackDirectory = new File("tracks");
 
+    // Maximum frames per second of the track display, 0 to display the track synchronously on the game loop
+    private int targetFramesPerSecond = DEFAULT_TARGET_FRAMES_PER_SECOND;
+
     public enum StrategyType {
-        DO_NOT_MOVE, USER, MOVE_LIST, PATH_FOLLOWER
+        DO_NOT_MOVE, USER, MOVE_LIST, PATH_FOLLOWER, OPTIMAL_SOLVER, A_STAR, MONTE_CARLO
     }
 
     /**
@@ -44,4 +52,12 @@ public class Config {
     public void setTrackDirectory(File trackDirectory) {
         this.trackDirectory = trackDirectory;
     }
+
+    public int getTargetFramesPerSecond() {
+        return targetFramesPerSecond;
+    }
+
+    public void setTargetFramesPerSecond(int targetFramesPerSecond) {
+        this.targetFramesPerSecond = targetFramesPerSecond;
+    }
 }
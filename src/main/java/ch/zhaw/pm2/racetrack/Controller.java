@@ -1,9 +1,11 @@
 package ch.zhaw.pm2.racetrack;
 
 import ch.zhaw.pm2.racetrack.InputOutput.MenuAction;
+import ch.zhaw.pm2.racetrack.strategy.InvalidFollowerFileException;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
 
 /**
  * Controls the game flow.
@@ -35,7 +37,7 @@ public class Controller {
                     amountOfNotMovingCars = setCarStrategyType(inputOutput, game, track, fileName);
                 }
                 inputOutput.clearWindow();
-                inputOutput.textTerminal.println(track.toString());
+                inputOutput.printTrack(track, game.getCurrentCarIndex());
             } catch (FileNotFoundException e) {
                 inputOutput.printFileNotFound();
             } catch (InvalidTrackFormatException e) {
@@ -46,6 +48,7 @@ public class Controller {
 
     /**
      * Asks and Sets StrategyType for every user
+     * Repeat asking while the strategy files of the chosen strategy can't be used.
      *
      * @return Amount of chosen DO_NOT_MOVE-StrategyType
      */
@@ -54,8 +57,16 @@ public class Controller {
         for (int i = 0; i < track.getCarCount(); i++) {
             inputOutput.clearToStartWindow();
             inputOutput.printCurrentPlayer(game.getCarId(game.getCurrentCarIndex()));
-            Config.StrategyType carStrategy = inputOutput.printStrategyMenu();
-            game.setStrategy(game.getCurrentCarIndex(), carStrategy, filename.toString());
+            Config.StrategyType carStrategy = null;
+            while (carStrategy == null) {
+                Config.StrategyType selectedStrategy = inputOutput.printStrategyMenu();
+                try {
+                    game.setStrategy(game.getCurrentCarIndex(), selectedStrategy, filename.toString());
+                    carStrategy = selectedStrategy;
+                } catch (InvalidFollowerFileException | UncheckedIOException e) {
+                    inputOutput.printInvalidStrategy(e.getMessage());
+                }
+            }
             game.switchToNextActiveCar();
             if (carStrategy == Config.StrategyType.DO_NOT_MOVE) {
                 amountOfNotMovingCars++;
@@ -74,11 +85,12 @@ public class Controller {
      */
     private boolean gameRun(Game game, InputOutput inputOutput, MenuFeedback menuFeedback, Track track) {
         while (game.getWinner() == Game.NO_WINNER) {
-            inputOutput.printCurrentPlayer(game.getCarId(game.getCurrentCarIndex()));
             Config.StrategyType carStrategy = game.getStrategy(game.getCurrentCarIndex());
             Car car = track.getCar(game.getCurrentCarIndex());
             PositionVector.Direction direction = car.nextMove();
             if (carStrategy == Config.StrategyType.USER) {
+                // only announced for users, the track display of automated turns does not wait for the terminal
+                inputOutput.printCurrentPlayer(game.getCarId(game.getCurrentCarIndex()));
                 menuFeedback = inputOutput.printMenu();
                 MenuAction menuAction = menuFeedback.getMenuAction();
                 direction = menuFeedback.getDirection();
@@ -103,13 +115,13 @@ public class Controller {
                 game.doCarTurn(direction);
                 game.switchToNextActiveCar();
             }
-            inputOutput.printTrack(track.toString());
+            inputOutput.printTrack(track, game.getCurrentCarIndex());
             if (!existsMovableCar(game) && game.getWinner() == Game.NO_WINNER) {
                 inputOutput.noWinnerPossible();
                 return false;
             }
         }
-        inputOutput.printTrack(track.toString());
+        inputOutput.printTrack(track, game.getCurrentCarIndex());
         inputOutput.printWinner(game.getCarId(game.getWinner()));
         if (inputOutput.askForRestart()) {
             return true;
@@ -118,15 +130,7 @@ public class Controller {
     }
 
     protected boolean existsMovableCar(Game game) {
-        Track track = game.getTrack();
-        int amount = 0;
-        for (int i = 0; i < track.getCarCount(); i++) {
-            Car car = track.getCar(i);
-            if (!car.isCrashed() && car.getStrategyType() != Config.StrategyType.DO_NOT_MOVE) {
-                amount++;
-            }
-        }
-        return amount > 0;
+        return game.existsMovableCar();
     }
 
     public static void main(String[] args) {
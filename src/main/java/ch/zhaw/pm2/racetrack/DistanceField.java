@@ -0,0 +1,158 @@
+package ch.zhaw.pm2.racetrack;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shortest grid distance from every space of a track to the finish line.
+ *
+ * <p>The distance is the minimum amount of steps to one of the eight neighbour spaces which a car needs to
+ * cross the finish line in the right direction. It is calculated with a breadth-first search starting from all
+ * FINISH_* spaces at once. A finish line space is only entered from neighbours from which the game does not
+ * block the car ({@link TurnEvaluator}), WALL and other finish line spaces are never passed.</p>
+ * <p>A car moves at most max(|vx|, |vy|) steps per turn, so the distance is a lower bound for the remaining path
+ * of any car and can be used as heuristic by strategies which search ahead, or to rank the cars of a race.</p>
+ * <p>The distances only depend on the terrain. A distance field is therefore shared read-only by all tracks with
+ * the same terrain ({@link TerrainKey}). The shared fields are only softly referenced: a field which no track uses anymore is
+ * reclaimed when memory runs low and calculated again when a track of its terrain needs it, so races over many
+ * or large tracks do not keep every field alive.</p>
+ */
+public class DistanceField {
+    public static final int UNREACHABLE = -1;
+
+    private static final Map<TerrainKey, CachedField> CACHE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<DistanceField> RECLAIMED_FIELDS = new ReferenceQueue<>();
+    private static final int[] NEIGHBOUR_X = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int[] NEIGHBOUR_Y = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+    private final int width;
+    private final int height;
+    private final int[] distances;
+
+    private DistanceField(Track track) {
+        width = track.getWidth();
+        height = track.getHeight();
+        distances = new int[width * height];
+        calculateDistances(track);
+    }
+
+    /**
+     * Returns the distance field of the given track. The field is calculated on the first call for a track
+     * terrain and shared afterwards, as long as it has not been reclaimed.
+     *
+     * @param track the track
+     * @return the distance field of the terrain of the track
+     */
+    public static DistanceField of(Track track) {
+        removeReclaimedFields();
+        TerrainKey terrainKey = track.getTerrainKey();
+        CachedField cachedField = CACHE.get(terrainKey);
+        DistanceField distanceField = cachedField == null ? null : cachedField.get();
+        if (distanceField == null) {
+            // racing threads may both calculate the field, one of them is cached
+            distanceField = new DistanceField(track);
+            CACHE.put(terrainKey, new CachedField(terrainKey, distanceField));
+        }
+        return distanceField;
+    }
+
+    private static void removeReclaimedFields() {
+        for (Reference<? extends DistanceField> reclaimed = RECLAIMED_FIELDS.poll(); reclaimed != null;
+             reclaimed = RECLAIMED_FIELDS.poll()) {
+            CachedField cachedField = (CachedField) reclaimed;
+            CACHE.remove(cachedField.terrainKey, cachedField);
+        }
+    }
+
+    /**
+     * Returns the distance from the given space to the finish line.
+     *
+     * @param x horizontal coordinate on the grid
+     * @param y vertical coordinate on the grid
+     * @return the amount of steps, 0 on a finish line space or {@link #UNREACHABLE}
+     */
+    public int getDistance(int x, int y) {
+        return distances[y * width + x];
+    }
+
+    /**
+     * Returns the distance from the space at the given index to the finish line.
+     *
+     * @param index index on the track grid ({@code y * width + x})
+     * @return the amount of steps, 0 on a finish line space or {@link #UNREACHABLE}
+     */
+    public int getDistance(int index) {
+        return distances[index];
+    }
+
+    private void calculateDistances(Track track) {
+        Arrays.fill(distances, UNREACHABLE);
+        int[] queue = new int[distances.length];
+        int tail = 0;
+        for (int index = 0; index < distances.length; index++) {
+            if (isFinishLine(track.getTerrainType(index % width, index / width))) {
+                distances[index] = 0;
+            }
+        }
+        for (int index = 0; index < distances.length; index++) {
+            if (distances[index] == 0) {
+                tail = enqueueEntrySpaces(track, index, queue, tail);
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int index = queue[head];
+            int x = index % width;
+            int y = index / width;
+            for (int neighbour = 0; neighbour < NEIGHBOUR_X.length; neighbour++) {
+                int neighbourX = x + NEIGHBOUR_X[neighbour];
+                int neighbourY = y + NEIGHBOUR_Y[neighbour];
+                if (isUnvisitedTrack(track, neighbourX, neighbourY)) {
+                    distances[neighbourY * width + neighbourX] = distances[index] + 1;
+                    queue[tail++] = neighbourY * width + neighbourX;
+                }
+            }
+        }
+    }
+
+    private int enqueueEntrySpaces(Track track, int finishIndex, int[] queue, int tail) {
+        int finishX = finishIndex % width;
+        int finishY = finishIndex / width;
+        Config.SpaceType finishType = track.getTerrainType(finishX, finishY);
+        for (int neighbour = 0; neighbour < NEIGHBOUR_X.length; neighbour++) {
+            int neighbourX = finishX + NEIGHBOUR_X[neighbour];
+            int neighbourY = finishY + NEIGHBOUR_Y[neighbour];
+            if (isUnvisitedTrack(track, neighbourX, neighbourY)
+                && !TurnEvaluator.isBlockingBackDriving(finishType, neighbourX, finishX)) {
+                distances[neighbourY * width + neighbourX] = 1;
+                queue[tail++] = neighbourY * width + neighbourX;
+            }
+        }
+        return tail;
+    }
+
+    private boolean isUnvisitedTrack(Track track, int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height
+            && distances[y * width + x] == UNREACHABLE
+            && track.getTerrainType(x, y) == Config.SpaceType.TRACK;
+    }
+
+    private static boolean isFinishLine(Config.SpaceType spaceType) {
+        return spaceType == Config.SpaceType.FINISH_DOWN ||
+            spaceType == Config.SpaceType.FINISH_LEFT ||
+            spaceType == Config.SpaceType.FINISH_RIGHT ||
+            spaceType == Config.SpaceType.FINISH_UP;
+    }
+
+    private static final class CachedField extends SoftReference<DistanceField> {
+        private final TerrainKey terrainKey;
+
+        CachedField(TerrainKey terrainKey, DistanceField distanceField) {
+            super(distanceField, RECLAIMED_FIELDS);
+            this.terrainKey = terrainKey;
+        }
+    }
+}
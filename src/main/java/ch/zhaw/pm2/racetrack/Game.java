@@ -1,7 +1,15 @@
 package ch.zhaw.pm2.racetrack;
 
+import ch.zhaw.pm2.racetrack.strategy.AStarSolver;
+import ch.zhaw.pm2.racetrack.strategy.MonteCarloSolver;
+import ch.zhaw.pm2.racetrack.strategy.MoveStrategy;
+import ch.zhaw.pm2.racetrack.strategy.OptimalSolver;
+import ch.zhaw.pm2.racetrack.strategy.PathFollower;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static ch.zhaw.pm2.racetrack.PositionVector.Direction;
@@ -18,6 +26,18 @@ public class Game {
     private int currentCarIndex = 0;
     private Track track;
     private int winner = NO_WINNER;
+    private TurnEvaluator turnEvaluator;
+    private GameListener[] listeners = new GameListener[0];
+    private long stateHash;
+    // ring of the cars which are not crashed, in turn order; a crashed car keeps the next car it had in the ring
+    private int[] nextActiveCar = new int[0];
+    private int[] previousActiveCar = new int[0];
+    private int activeCarCount;
+    // XOR of the indexes of the cars in the ring, the index of the last car when only one is left
+    private int activeCarIndexes;
+    // cars in the ring which do not use the DO_NOT_MOVE strategy
+    private int movableCarCount;
+    private int searchWorkerCount = Runtime.getRuntime().availableProcessors();
 
     /**
      * Return the index of the current active car.
@@ -75,8 +95,8 @@ public class Game {
      * <p>The steps are as follows</p>
      * <ol>
      *   <li>Accelerate the current car</li>
-     *   <li>Calculate the path from current (start) to next (end) position
-     *       (see {@link Game#calculatePath(PositionVector, PositionVector)})</li>
+     *   <li>Walk the path from current (start) to next (end) position with a {@link TurnEvaluator}
+     *       (same positions as {@link Game#calculatePath(PositionVector, PositionVector)})</li>
      *   <li>Verify for each step what space type it hits:
      *      <ul>
      *          <li>TRACK: check for collision with other car (crashed &amp; don't continue), otherwise do nothing</li>
@@ -90,96 +110,168 @@ public class Game {
      * </ol>
      * <p>The calling method must check the winner state and decide how to go on. If the winner is different
      * than {@link Game#NO_WINNER}, or the current car is already marked as crashed the method returns immediately.</p>
+     * <p>The path is walked on primitive coordinates, so a turn without crash or win does not allocate objects.</p>
+     * <p>The events of the turn are sent to the registered {@link GameListener}s.</p>
      *
      * @param acceleration A Direction containing the current cars acceleration vector (-1,0,1) in x and y direction
      *                     for this turn
      */
     public void doCarTurn(Direction acceleration) {
+        int previousWinner = winner;
         Car car = track.getCar(currentCarIndex);
+        boolean crashedBefore = car.isCrashed();
+        stateHash ^= StateHashing.getCarKey(currentCarIndex, car);
         car.accelerate(acceleration);
-        PositionVector startPosition = car.getPosition();
-        PositionVector endPosition = car.nextPosition();
-        List<PositionVector> positions = calculatePath(startPosition, endPosition);
-        boolean crashed = false;
-        for (int i = 1; i <= positions.size() - 1; i++) {
-            if (willCarCrash(currentCarIndex, positions.get(i))) {
-                endPosition = positions.get(i);
-                crashed = true;
-                break;
-            } else if (isBlockingBackDriving(startPosition, positions.get(i))) {
-                endPosition = positions.get(i - 1);
-                break;
-            } else if (willCarReachFinishLine(positions.get(i))) {
-                endPosition = positions.get(i);
-                winner = currentCarIndex;
-                break;
-            }
+        int startX = car.getPositionX();
+        int startY = car.getPositionY();
+        TurnEvaluator.Outcome outcome = turnEvaluator.evaluate(currentCarIndex, startX, startY,
+            startX + car.getVelocityX(), startY + car.getVelocityY());
+        int endX = turnEvaluator.getEndX();
+        int endY = turnEvaluator.getEndY();
+        boolean crashed = outcome == TurnEvaluator.Outcome.CRASHED;
+        if (outcome == TurnEvaluator.Outcome.WON) {
+            winner = currentCarIndex;
         }
-        if (startPosition.getX() != endPosition.getX() || startPosition.getY() != endPosition.getY()) {
-            track.updateCarOnTrack(endPosition, currentCarIndex);
+        if (startX != endX || startY != endY) {
+            track.updateCarOnTrack(endX, endY, currentCarIndex);
         }
         if (crashed) {
-            car.crash(endPosition);
+            car.crash(endX, endY);
+            if (!crashedBefore) {
+                removeActiveCar(currentCarIndex);
+                if (car.getStrategyType() != Config.StrategyType.DO_NOT_MOVE) {
+                    movableCarCount--;
+                }
+            }
             winner = checkWinnerAfterCrash();
         } else {
-            car.move(endPosition);
+            car.move(endX, endY);
+        }
+        stateHash ^= StateHashing.getCarKey(currentCarIndex, car);
+        if (listeners.length > 0) {
+            fireTurnEvents(acceleration, car, startX, startY, crashed, previousWinner == NO_WINNER);
         }
     }
 
-    private int checkWinnerAfterCrash() {
-        List<Integer> indexList = new ArrayList<>();
-        for (int i = 0; i <= track.getCarCount() - 1; i++) {
-            if (!track.getCar(i).isCrashed()) {
-                indexList.add(i);
+    private void fireTurnEvents(Direction acceleration, Car car, int startX, int startY, boolean crashed,
+                                boolean undecidedBefore) {
+        int carIndex = currentCarIndex;
+        for (GameListener listener : listeners) {
+            if (crashed) {
+                listener.onCrash(carIndex, car.getPositionX(), car.getPositionY());
+            } else if (startX != car.getPositionX() || startY != car.getPositionY()) {
+                listener.onMove(carIndex, startX, startY, car.getPositionX(), car.getPositionY(),
+                    car.getVelocityX(), car.getVelocityY());
+            }
+            if (undecidedBefore && winner != NO_WINNER) {
+                listener.onFinish(winner);
             }
+            listener.onTurnEnd(carIndex, acceleration);
         }
-        return (indexList.size() == 1) ? indexList.get(0) : NO_WINNER;
     }
 
-    private boolean isBlockingBackDriving(PositionVector startPosition, PositionVector currentPosition) {
-        boolean shouldBeBlocked = false;
-        Config.SpaceType spaceType = track.getSpaceType(currentPosition);
-        if (spaceType == Config.SpaceType.FINISH_LEFT) {
-            if (currentPosition.getX() > startPosition.getX()) {
-                shouldBeBlocked = true;
-            }
-        } else if (spaceType == Config.SpaceType.FINISH_RIGHT) {
-            if (currentPosition.getX() < startPosition.getX()) {
-                shouldBeBlocked = true;
-            }
-        } else if (spaceType == Config.SpaceType.FINISH_DOWN) {
-            if (currentPosition.getX() > startPosition.getX()) {
-                shouldBeBlocked = true;
-            }
-        } else if (spaceType == Config.SpaceType.FINISH_UP) {
-            if (currentPosition.getX() < startPosition.getX()) {
-                shouldBeBlocked = true;
+    /**
+     * Registers a listener for the events of this game.
+     *
+     * @param listener the listener
+     */
+    public void addListener(GameListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(GameListener)}.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(GameListener listener) {
+        for (int index = 0; index < listeners.length; index++) {
+            if (listeners[index] == listener) {
+                GameListener[] remaining = new GameListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, index);
+                System.arraycopy(listeners, index + 1, remaining, index, remaining.length - index);
+                listeners = remaining;
+                return;
             }
         }
-        return shouldBeBlocked;
+    }
+
+    private int checkWinnerAfterCrash() {
+        return activeCarCount == 1 ? activeCarIndexes : NO_WINNER;
     }
 
     /**
      * Switches to the next car who is still in the game. Skips crashed cars.
+     * If all cars are crashed, the current car stays the same.
+     * <p>The cars which are not crashed are kept in a ring in turn order, so the next car is found in constant
+     * time, independent of the amount of crashed cars.</p>
      */
     public void switchToNextActiveCar() {
-        if (winner == NO_WINNER) {
-            boolean foundActiveCar = false;
-            int nextCarIndex = currentCarIndex;
-            while (!foundActiveCar) {
-                if (nextCarIndex == track.getCarCount() - 1) {
-                    nextCarIndex = 0;
-                } else {
-                    nextCarIndex++;
-                }
-                if (!track.getCarCrashStatus(nextCarIndex)) {
-                    foundActiveCar = true;
+        if (winner == NO_WINNER && activeCarCount > 0) {
+            int nextCarIndex = nextActiveCar[currentCarIndex];
+            stateHash ^= StateHashing.getCurrentCarKey(currentCarIndex)
+                ^ StateHashing.getCurrentCarKey(nextCarIndex);
+            currentCarIndex = nextCarIndex;
+        }
+    }
+
+    /**
+     * Builds the ring of the cars which are not crashed from the crash states of the cars.
+     */
+    private void linkActiveCars() {
+        int carCount = track.getCarCount();
+        nextActiveCar = new int[carCount];
+        previousActiveCar = new int[carCount];
+        activeCarCount = 0;
+        activeCarIndexes = 0;
+        movableCarCount = 0;
+        int nextActive = -1;
+        // walk twice backwards, so every car, also a crashed one, gets the next active car after it
+        for (int step = 2 * carCount - 1; step >= 0; step--) {
+            int carIndex = step % carCount;
+            if (nextActive != -1) {
+                nextActiveCar[carIndex] = nextActive;
+            }
+            if (!track.getCar(carIndex).isCrashed()) {
+                if (step < carCount) {
+                    previousActiveCar[nextActive] = carIndex;
+                    activeCarCount++;
+                    activeCarIndexes ^= carIndex;
+                    if (isMovable(track.getCar(carIndex))) {
+                        movableCarCount++;
+                    }
                 }
+                nextActive = carIndex;
             }
-            currentCarIndex = nextCarIndex;
         }
     }
 
+    private void removeActiveCar(int carIndex) {
+        nextActiveCar[previousActiveCar[carIndex]] = nextActiveCar[carIndex];
+        previousActiveCar[nextActiveCar[carIndex]] = previousActiveCar[carIndex];
+        activeCarCount--;
+        activeCarIndexes ^= carIndex;
+    }
+
+    private static boolean isMovable(Car car) {
+        return !car.isCrashed() && car.getMoveStrategy() != null
+            && car.getStrategyType() != Config.StrategyType.DO_NOT_MOVE;
+    }
+
+    /**
+     * Checks if there is a car left which is not crashed, has a strategy and does not use the
+     * {@link Config.StrategyType#DO_NOT_MOVE} strategy.
+     * <p>The movable cars are counted with every crash and strategy change, so the check takes constant time.
+     * Strategies can therefore only be set through {@link #setStrategy(int, Config.StrategyType, String)} or
+     * {@link #setMoveStrategy(int, Config.StrategyType, MoveStrategy)}, the setters of the car are not public.</p>
+     *
+     * @return true if at least one car is able to move
+     */
+    public boolean existsMovableCar() {
+        return movableCarCount > 0;
+    }
+
 
     /**
      * Returns all of the grid positions in the path between two positions, for use in determining line of sight.
@@ -196,45 +288,11 @@ public class Game {
      */
     public List<PositionVector> calculatePath(PositionVector startPosition, PositionVector endPosition) {
         List<PositionVector> posList = new ArrayList<>();
-        int diffX = endPosition.getX() - startPosition.getX();
-        int diffY = endPosition.getY() - startPosition.getY();
-        int distX = Math.abs(diffX);
-        int distY = Math.abs(diffY);
-        int dirX = Integer.signum(diffX);
-        int dirY = Integer.signum(diffY);
-        int parallelStepX, parallelStepY;
-        int diagonalStepX, diagonalStepY;
-        int distanceSlowAxis, distanceFastAxis;
-        if (distX > distY) {
-            parallelStepX = dirX;
-            parallelStepY = 0;
-            diagonalStepX = dirX;
-            diagonalStepY = dirY;
-            distanceSlowAxis = distY;
-            distanceFastAxis = distX;
-        } else {
-            parallelStepX = 0;
-            parallelStepY = dirY;
-            diagonalStepX = dirX;
-            diagonalStepY = dirY;
-            distanceSlowAxis = distX;
-            distanceFastAxis = distY;
-        }
-        int x = startPosition.getX();
-        int y = startPosition.getY();
-        int error = distanceFastAxis / 2;
+        PathCursor cursor = new PathCursor();
+        cursor.reset(startPosition.getX(), startPosition.getY(), endPosition.getX(), endPosition.getY());
         posList.add(new PositionVector(startPosition.getX(), startPosition.getY()));
-        for (int step = 0; step < distanceFastAxis; step++) {
-            error -= distanceSlowAxis;
-            if (error < 0) {
-                error += distanceFastAxis;
-                x += diagonalStepX;
-                y += diagonalStepY;
-            } else {
-                x += parallelStepX;
-                y += parallelStepY;
-            }
-            posList.add(new PositionVector(x, y));
+        while (cursor.next()) {
+            posList.add(new PositionVector(cursor.getX(), cursor.getY()));
         }
         return posList;
     }
@@ -247,22 +305,207 @@ public class Game {
      * @return A boolean indicator if the car would crash with a WALL or another car.
      */
     public boolean willCarCrash(int carIndex, PositionVector position) {
-        Config.SpaceType spaceType = track.getSpaceType(position);
-        return spaceType == Config.SpaceType.CAR ||
-            spaceType == Config.SpaceType.WALL;
-    }
-
-    private boolean willCarReachFinishLine(PositionVector currentPosition) {
-        Config.SpaceType spaceType = track.getSpaceType(currentPosition);
-        return spaceType == Config.SpaceType.FINISH_DOWN ||
-            spaceType == Config.SpaceType.FINISH_LEFT ||
-            spaceType == Config.SpaceType.FINISH_RIGHT ||
-            spaceType == Config.SpaceType.FINISH_UP;
+        return turnEvaluator.willCarCrash(carIndex, position.getX(), position.getY());
     }
 
     public void setStrategy(int carID, Config.StrategyType strategyType, String pathName) {
         Car car = track.getCar(carID);
-        car.setStrategyType(strategyType, pathName);
+        boolean wasMovable = isMovable(car);
+        if (strategyType == Config.StrategyType.OPTIMAL_SOLVER) {
+            car.setMoveStrategy(strategyType, new OptimalSolver(track, carID));
+        } else if (strategyType == Config.StrategyType.A_STAR) {
+            car.setMoveStrategy(strategyType, new AStarSolver(track, carID));
+        } else if (strategyType == Config.StrategyType.MONTE_CARLO) {
+            car.setMoveStrategy(strategyType, new MonteCarloSolver(this, carID,
+                MonteCarloSolver.DEFAULT_TIME_BUDGET_MILLIS, searchWorkerCount, System.nanoTime()));
+        } else if (strategyType == Config.StrategyType.PATH_FOLLOWER) {
+            car.setMoveStrategy(strategyType, new PathFollower(track, pathName, car.getName(),
+                car.getPosition()));
+        } else {
+            car.setStrategyType(strategyType, pathName);
+        }
+        updateMovableCarCount(car, wasMovable);
+    }
+
+    /**
+     * Sets a strategy which has been created by the caller, e.g. a strategy which needs the track.
+     *
+     * @param carIndex     the zero-based index of the car
+     * @param strategyType type of the strategy
+     * @param moveStrategy the strategy deciding the moves of the car
+     */
+    public void setMoveStrategy(int carIndex, Config.StrategyType strategyType, MoveStrategy moveStrategy) {
+        Car car = track.getCar(carIndex);
+        boolean wasMovable = isMovable(car);
+        car.setMoveStrategy(strategyType, moveStrategy);
+        updateMovableCarCount(car, wasMovable);
+    }
+
+    private void updateMovableCarCount(Car car, boolean wasMovable) {
+        if (isMovable(car) != wasMovable) {
+            movableCarCount += wasMovable ? -1 : 1;
+        }
+    }
+
+    /**
+     * Creates an independent game in the state of this game, e.g. for a strategy which simulates many races ahead
+     * (rollouts). The track of the copy shares the terrain with the track of this game and has copies of the cars
+     * ({@link Track#fork()}), so the copy takes time proportional to the amount of cars. Turns on the copy do not
+     * change this game. Strategies and listeners are not copied: the cars of the copy do not accelerate on their
+     * own, the moves are given to {@link #doCarTurn(Direction)}.
+     *
+     * @return the copy
+     */
+    public Game fork() {
+        Game fork = new Game();
+        fork.track = track.fork();
+        fork.turnEvaluator = new TurnEvaluator(fork.track);
+        fork.currentCarIndex = currentCarIndex;
+        fork.winner = winner;
+        fork.stateHash = stateHash;
+        fork.nextActiveCar = Arrays.copyOf(nextActiveCar, nextActiveCar.length);
+        fork.previousActiveCar = Arrays.copyOf(previousActiveCar, previousActiveCar.length);
+        fork.activeCarCount = activeCarCount;
+        fork.activeCarIndexes = activeCarIndexes;
+        fork.movableCarCount = movableCarCount;
+        return fork;
+    }
+
+    /**
+     * Returns the Zobrist hash of the race state: position, velocity and crash state of every car and the current
+     * car. Equal states have equal hashes, also if they are reached by different moves, so the hash can be used as
+     * key of a transposition table. The hash is updated with every turn and car switch in constant time.
+     * <p>Only changes made through this game are tracked; a car which is modified directly does not update the
+     * hash.</p>
+     *
+     * @return the hash of the current state
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Calculates the hash of {@link #getStateHash()} from scratch.
+     *
+     * @return the hash of the current state
+     */
+    long computeStateHash() {
+        long hash = StateHashing.getCurrentCarKey(currentCarIndex);
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            hash ^= StateHashing.getCarKey(carIndex, track.getCar(carIndex));
+        }
+        return hash;
+    }
+
+    /**
+     * Captures the state of the race: position, velocity and crash state of every car, the current car and the
+     * winner. The strategies of the cars are not part of the snapshot.
+     * <p>Layout: one header with winner (upper 32 bits) and current car index (lower 32 bits), one packed state
+     * ({@link PositionVectorHelper#packState(int, int, int, int)}) per car and the flags of the cars, two bits per
+     * car (crashed, removed from the track after a crash into another car), 32 cars per long.</p>
+     *
+     * @return the snapshot
+     */
+    public long[] createSnapshot() {
+        long[] snapshot = new long[getSnapshotLength()];
+        writeSnapshot(LongBuffer.wrap(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Writes the snapshot of {@link #createSnapshot()} into a buffer, e.g. to keep many snapshots in one direct
+     * buffer. The position of the buffer is advanced by {@link #getSnapshotSize()} bytes.
+     *
+     * @param buffer the buffer to write to, in the byte order the snapshot is read with
+     * @throws java.nio.BufferOverflowException if there are fewer than {@link #getSnapshotSize()} bytes remaining
+     */
+    public void createSnapshot(ByteBuffer buffer) {
+        writeSnapshot(buffer.asLongBuffer());
+        buffer.position(buffer.position() + getSnapshotSize());
+    }
+
+    /**
+     * @return the size of a snapshot written to a {@link ByteBuffer} in bytes
+     */
+    public int getSnapshotSize() {
+        return getSnapshotLength() * Long.BYTES;
+    }
+
+    private int getSnapshotLength() {
+        int carCount = track.getCarCount();
+        return 1 + carCount + getFlagWords(carCount);
+    }
+
+    private void writeSnapshot(LongBuffer snapshot) {
+        int carCount = track.getCarCount();
+        long[] flagWords = new long[getFlagWords(carCount)];
+        snapshot.put(((long) winner << 32) | (currentCarIndex & 0xFFFFFFFFL));
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            Car car = track.getCar(carIndex);
+            snapshot.put(PositionVectorHelper.packState(car.getPositionX(), car.getPositionY(),
+                car.getVelocityX(), car.getVelocityY()));
+            long flags = (car.isCrashed() ? 1 : 0) | (track.getCarCell(carIndex) == CarOccupancy.FREE ? 2 : 0);
+            flagWords[carIndex / 32] |= flags << (carIndex % 32 * 2);
+        }
+        snapshot.put(flagWords);
+    }
+
+    /**
+     * Restores a state captured with {@link #createSnapshot()} on the same track.
+     *
+     * @param snapshot the snapshot
+     * @throws IllegalArgumentException if the snapshot does not match the amount of cars on the track
+     */
+    public void restoreSnapshot(long[] snapshot) {
+        if (snapshot.length != getSnapshotLength()) {
+            throw new IllegalArgumentException("The snapshot does not match the " + track.getCarCount()
+                + " cars of the track.");
+        }
+        readSnapshot(LongBuffer.wrap(snapshot));
+    }
+
+    /**
+     * Restores a state written with {@link #createSnapshot(ByteBuffer)} on the same track. The position of the
+     * buffer is advanced by {@link #getSnapshotSize()} bytes.
+     *
+     * @param buffer the buffer to read from
+     * @throws IllegalArgumentException if there are fewer than {@link #getSnapshotSize()} bytes remaining
+     */
+    public void restoreSnapshot(ByteBuffer buffer) {
+        if (buffer.remaining() < getSnapshotSize()) {
+            throw new IllegalArgumentException("The buffer does not contain a snapshot of the "
+                + track.getCarCount() + " cars of the track.");
+        }
+        readSnapshot(buffer.asLongBuffer());
+        buffer.position(buffer.position() + getSnapshotSize());
+    }
+
+    private void readSnapshot(LongBuffer snapshot) {
+        int carCount = track.getCarCount();
+        int start = snapshot.position();
+        long header = snapshot.get(start);
+        winner = (int) (header >> 32);
+        currentCarIndex = (int) header;
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            track.removeCarFromTrack(carIndex);
+        }
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            long state = snapshot.get(start + 1 + carIndex);
+            long flags = snapshot.get(start + 1 + carCount + carIndex / 32) >>> (carIndex % 32 * 2);
+            int x = PositionVectorHelper.getStateX(state);
+            int y = PositionVectorHelper.getStateY(state);
+            track.getCar(carIndex).restore(x, y, PositionVectorHelper.getStateVelocityX(state),
+                PositionVectorHelper.getStateVelocityY(state), (flags & 1) != 0);
+            if ((flags & 2) == 0) {
+                track.updateCarOnTrack(x, y, carIndex);
+            }
+        }
+        linkActiveCars();
+        stateHash = computeStateHash();
+    }
+
+    private static int getFlagWords(int carCount) {
+        return (carCount + 31) / 32;
     }
 
     public Config.StrategyType getStrategy(int carID) {
@@ -274,7 +517,25 @@ public class Game {
         return track;
     }
 
+    /**
+     * Sets the amount of threads a {@link Config.StrategyType#MONTE_CARLO} strategy set afterwards searches with,
+     * by default one per processor. Races which run in parallel use one thread per strategy, so they do not compete
+     * with each other for the processors.
+     *
+     * @param searchWorkerCount the amount of threads, 1 to search on the thread of the game
+     * @throws IllegalArgumentException if the amount is not positive
+     */
+    public void setSearchWorkerCount(int searchWorkerCount) {
+        if (searchWorkerCount <= 0) {
+            throw new IllegalArgumentException("The amount of search threads must be positive.");
+        }
+        this.searchWorkerCount = searchWorkerCount;
+    }
+
     public void setTrack(Track track) {
         this.track = track;
+        turnEvaluator = new TurnEvaluator(track);
+        linkActiveCars();
+        stateHash = computeStateHash();
     }
 }
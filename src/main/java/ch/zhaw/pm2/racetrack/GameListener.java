@@ -0,0 +1,57 @@
+package ch.zhaw.pm2.racetrack;
+
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+
+/**
+ * Receives the events of a {@link Game}, e.g. to render, record or measure a race.
+ *
+ * <p>Listeners are registered with {@link Game#addListener(GameListener)} and called on the thread executing
+ * {@link Game#doCarTurn(Direction)}, in the order of registration. Positions and velocities are passed as
+ * coordinates, so dispatching an event does not create objects. All methods do nothing by default, a listener
+ * only implements the events it is interested in.</p>
+ * <p>The events of one turn are fired in this order: {@link #onMove} if the car moved, {@link #onCrash} if it
+ * crashed, {@link #onFinish} if the race has a winner after the turn and finally {@link #onTurnEnd}.</p>
+ */
+public interface GameListener {
+
+    /**
+     * Called when a car moved to a new position without crashing.
+     *
+     * @param carIndex  the zero-based index of the car
+     * @param fromX     horizontal coordinate of the position before the move
+     * @param fromY     vertical coordinate of the position before the move
+     * @param toX       horizontal coordinate of the position after the move
+     * @param toY       vertical coordinate of the position after the move
+     * @param velocityX horizontal velocity of the car after the move
+     * @param velocityY vertical velocity of the car after the move
+     */
+    default void onMove(int carIndex, int fromX, int fromY, int toX, int toY, int velocityX, int velocityY) {
+    }
+
+    /**
+     * Called when a car crashed into a wall or another car.
+     *
+     * @param carIndex the zero-based index of the car
+     * @param x        horizontal coordinate of the crash position
+     * @param y        vertical coordinate of the crash position
+     */
+    default void onCrash(int carIndex, int x, int y) {
+    }
+
+    /**
+     * Called when the race has a winner, because a car crossed the finish line or all other cars crashed.
+     *
+     * @param winnerIndex the zero-based index of the winning car
+     */
+    default void onFinish(int winnerIndex) {
+    }
+
+    /**
+     * Called at the end of every turn.
+     *
+     * @param carIndex     the zero-based index of the car which did the turn
+     * @param acceleration the acceleration of the turn
+     */
+    default void onTurnEnd(int carIndex, Direction acceleration) {
+    }
+}
@@ -1,8 +1,14 @@
 package ch.zhaw.pm2.racetrack;
 
+import ch.zhaw.pm2.racetrack.render.IncrementalRenderer;
+import ch.zhaw.pm2.racetrack.render.RenderThread;
+import ch.zhaw.pm2.racetrack.render.TrackSnapshot;
+import ch.zhaw.pm2.racetrack.render.ViewportRenderer;
+import jline.Terminal;
 import org.beryx.textio.TextIO;
 import org.beryx.textio.TextIoFactory;
 import org.beryx.textio.TextTerminal;
+import org.beryx.textio.jline.JLineTextTerminal;
 
 import java.io.File;
 
@@ -13,9 +19,23 @@ import java.io.File;
  */
 public class InputOutput {
 
+    // lines below the track needed by the current player and the move menu
+    private static final int STATUS_LINES = 14;
+    // size of the viewport on terminals which do not report their size
+    private static final int TEXT_VIEWPORT_COLUMNS = 160;
+    private static final int TEXT_VIEWPORT_ROWS = 50;
+
     TextIO textIO = TextIoFactory.getTextIO();
     TextTerminal<?> textTerminal = textIO.getTextTerminal();
     Config config = new Config();
+    // only terminals of a console interpret the escape sequences of the incremental renderer
+    private final boolean incrementalRendering = textTerminal instanceof JLineTextTerminal;
+    private final IncrementalRenderer renderer = new IncrementalRenderer();
+    private ViewportRenderer viewportRenderer;
+    private int viewportColumns;
+    private int viewportRows;
+    private boolean minimapEnabled = true;
+    private RenderThread renderThread;
 
     /**
      * Prints welcome message and a stylized racecar.
@@ -28,6 +48,7 @@ public class InputOutput {
      * Prints the the winner announcement.
      */
     public void printWinner(char winner) {
+        awaitRendering();
         textTerminal.println("Player " + winner + " has won! Congratulations!");
     }
 
@@ -35,6 +56,7 @@ public class InputOutput {
      * Prints a message with the current player.
      */
     public void printCurrentPlayer(char winner) {
+        awaitRendering();
         textTerminal.println("Player " + winner + "'s turn:");
     }
 
@@ -44,7 +66,7 @@ public class InputOutput {
      * @return value of selected menu action as MenuAction Object
      */
     public MenuFeedback printMenu() {
-
+        awaitRendering();
         MenuFeedback returnValues = new MenuFeedback();
         String choice = askForDirectionOrAction();
 
@@ -127,6 +149,12 @@ public class InputOutput {
                 return Config.StrategyType.MOVE_LIST;
             case PATH_FOLLOWER:
                 return Config.StrategyType.PATH_FOLLOWER;
+            case OPTIMAL_SOLVER:
+                return Config.StrategyType.OPTIMAL_SOLVER;
+            case A_STAR:
+                return Config.StrategyType.A_STAR;
+            case MONTE_CARLO:
+                return Config.StrategyType.MONTE_CARLO;
         }
     }
 
@@ -142,13 +170,105 @@ public class InputOutput {
      */
     public void printTrack(String trackString) {
         clearWindow();
+        printTrackText(trackString);
+    }
+
+    /**
+     * Prints the momentary state of the game field. On a console only the spaces which changed since the last
+     * call are redrawn ({@link IncrementalRenderer}), otherwise the whole track is printed.
+     * Tracks which are larger than the terminal are shown in a viewport centered on the given car
+     * ({@link ViewportRenderer}), with a minimap of the whole track if it is enabled.
+     * <p>If a target frame rate is configured, the track is displayed by a {@link RenderThread}: this method only
+     * takes a snapshot of the track and returns, frames the display can not keep up with are dropped.</p>
+     *
+     * @param track    the track to print
+     * @param carIndex the zero-based index of the car a viewport is centered on
+     */
+    public void printTrack(Track track, int carIndex) {
+        TrackSnapshot snapshot = TrackSnapshot.of(track, carIndex);
+        if (config.getTargetFramesPerSecond() > 0) {
+            if (renderThread == null) {
+                renderThread = new RenderThread(this::displayTrack, config.getTargetFramesPerSecond());
+            }
+            renderThread.submit(snapshot);
+        } else {
+            displayTrack(snapshot);
+        }
+    }
+
+    private void displayTrack(TrackSnapshot track) {
+        int columns = TEXT_VIEWPORT_COLUMNS;
+        int rows = TEXT_VIEWPORT_ROWS;
+        if (incrementalRendering) {
+            Terminal terminal = ((JLineTextTerminal) textTerminal).getReader().getTerminal();
+            columns = terminal.getWidth();
+            rows = Math.max(1, terminal.getHeight() - STATUS_LINES);
+        }
+        boolean fitsTerminal = track.getWidth() <= columns && track.getHeight() <= rows;
+        if (fitsTerminal && incrementalRendering) {
+            if (viewportRenderer != null) {
+                viewportRenderer.invalidate();
+            }
+            textTerminal.print(renderer.render(track));
+        } else if (fitsTerminal) {
+            printTrackText(track.toString());
+        } else {
+            ViewportRenderer viewport = getViewportRenderer(columns, rows);
+            if (incrementalRendering) {
+                renderer.invalidate();
+                textTerminal.print(viewport.render(track));
+            } else {
+                printTrackText(viewport.renderText(track));
+            }
+        }
+    }
+
+    private void printTrackText(String trackString) {
+        textTerminal.resetToBookmark("clean");
         textTerminal.println(trackString);
     }
 
+    /**
+     * Waits until the track display has caught up with the last printed track, so other output is not mixed
+     * with a frame.
+     */
+    private void awaitRendering() {
+        if (renderThread != null) {
+            try {
+                renderThread.awaitFrames();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Enables or disables the minimap shown next to the viewport of tracks larger than the terminal.
+     *
+     * @param minimapEnabled true to show the minimap
+     */
+    public void setMinimapEnabled(boolean minimapEnabled) {
+        this.minimapEnabled = minimapEnabled;
+        viewportRenderer = null;
+    }
+
+    private ViewportRenderer getViewportRenderer(int columns, int rows) {
+        if (viewportRenderer == null || viewportColumns != columns || viewportRows != rows) {
+            // the minimap takes a quarter of the terminal width
+            int minimapColumns = minimapEnabled ? columns / 4 : 0;
+            int viewColumns = minimapEnabled ? Math.max(1, columns - minimapColumns - 1) : columns;
+            viewportRenderer = new ViewportRenderer(viewColumns, rows, minimapColumns, minimapEnabled ? rows : 0);
+            viewportColumns = columns;
+            viewportRows = rows;
+        }
+        return viewportRenderer;
+    }
+
     /**
      * Shows help text, to explain the game rules and functionality
      */
     public void printHelp() {
+        awaitRendering();
         textTerminal.println("HELP\n" +
             "To move your car you need to select a direction vector. Please note, that additionally to your selected vector for that round, your car will also move with the vector from the previous round. With the grid below you can easily select the next direction vector for your car.\n" +
             "\nq|w|e\n" +
@@ -173,7 +293,11 @@ public class InputOutput {
     /**
      * Prints no winner.
      */
-    public void noWinnerPossible() { textTerminal.println("No moving car left. Can't detect winner."); }
+    public void noWinnerPossible() {
+        awaitRendering();
+        textTerminal.println("No moving car left. Can't detect winner.");
+    }
+
     /**
      * Prints a message that a file could not be found.
      */
@@ -181,6 +305,15 @@ public class InputOutput {
         textTerminal.println("Can't find file.");
     }
 
+    /**
+     * Prints a message to inform the user that the selected strategy can't be used for the car.
+     *
+     * @param reason the reason why the strategy can't be used
+     */
+    public void printInvalidStrategy(String reason) {
+        textTerminal.println(reason + " Please select another strategy.");
+    }
+
     /**
      * Prints a message to inform the user that the selected track is invalid.
      */
@@ -194,6 +327,7 @@ public class InputOutput {
      * @return restartWanted true when a new game needs to be started
      */
     public boolean askForRestart() {
+        awaitRendering();
         return textIO.newBooleanInputReader().withFalseInput("n").withTrueInput("y").read("Do you want to play another game?");
     }
 
@@ -203,6 +337,7 @@ public class InputOutput {
      * @return true when the game should be stopped
      */
     public boolean askForQuit() {
+        awaitRendering();
         return textIO.newBooleanInputReader().withFalseInput("n").withTrueInput("y").read("Do you really want to quit?");
     }
 
@@ -212,6 +347,7 @@ public class InputOutput {
      * @return true when the user wants to continue with this
      */
     public void askToContinue() {
+        awaitRendering();
         String regexString = "[j]";
         textIO.newStringInputReader().withPattern(regexString).read("press j to continue");
     }
@@ -261,14 +397,28 @@ public class InputOutput {
     }
 
     public void clearWindow() {
+        awaitRendering();
+        invalidateRenderers();
         textTerminal.resetToBookmark("clean");
     }
 
     public void clearToStartWindow() {
+        awaitRendering();
+        invalidateRenderers();
         textTerminal.resetToBookmark("start");
     }
 
+    private void invalidateRenderers() {
+        renderer.invalidate();
+        if (viewportRenderer != null) {
+            viewportRenderer.invalidate();
+        }
+    }
+
     public void closeTerminalWindow() {
+        if (renderThread != null) {
+            renderThread.close();
+        }
         textTerminal.dispose();
     }
 
@@ -0,0 +1,113 @@
+package ch.zhaw.pm2.racetrack;
+
+/**
+ * Reusable cursor which walks the grid positions on the line between two positions.
+ *
+ * <p>The positions are determined with Bresenham's line algorithm
+ * (https://de.wikipedia.org/wiki/Bresenham-Algorithmus), the same way as in
+ * {@link Game#calculatePath(PositionVector, PositionVector)}. The cursor works on primitive coordinates only,
+ * so walking a path does not allocate any objects. It can be reset and used again for the next path.</p>
+ *
+ * <pre>
+ *     cursor.reset(startX, startY, endX, endY);
+ *     while (cursor.next()) {
+ *         // check cursor.getX(), cursor.getY()
+ *     }
+ * </pre>
+ */
+public class PathCursor {
+    private int x;
+    private int y;
+    private int previousX;
+    private int previousY;
+    private int parallelStepX;
+    private int parallelStepY;
+    private int diagonalStepX;
+    private int diagonalStepY;
+    private int distanceSlowAxis;
+    private int distanceFastAxis;
+    private int error;
+    private int remainingSteps;
+
+    /**
+     * Starts a new path. The cursor is positioned on the start position.
+     *
+     * @param startX horizontal coordinate of the start position
+     * @param startY vertical coordinate of the start position
+     * @param endX   horizontal coordinate of the end position
+     * @param endY   vertical coordinate of the end position
+     */
+    public void reset(int startX, int startY, int endX, int endY) {
+        int diffX = endX - startX;
+        int diffY = endY - startY;
+        int distX = Math.abs(diffX);
+        int distY = Math.abs(diffY);
+        int dirX = Integer.signum(diffX);
+        int dirY = Integer.signum(diffY);
+        diagonalStepX = dirX;
+        diagonalStepY = dirY;
+        if (distX > distY) {
+            parallelStepX = dirX;
+            parallelStepY = 0;
+            distanceSlowAxis = distY;
+            distanceFastAxis = distX;
+        } else {
+            parallelStepX = 0;
+            parallelStepY = dirY;
+            distanceSlowAxis = distX;
+            distanceFastAxis = distY;
+        }
+        x = startX;
+        y = startY;
+        previousX = startX;
+        previousY = startY;
+        error = distanceFastAxis / 2;
+        remainingSteps = distanceFastAxis;
+    }
+
+    /**
+     * Moves the cursor to the next position on the path.
+     *
+     * @return false if the cursor already was on the end position, true otherwise
+     */
+    public boolean next() {
+        if (remainingSteps == 0) {
+            return false;
+        }
+        remainingSteps--;
+        previousX = x;
+        previousY = y;
+        error -= distanceSlowAxis;
+        if (error < 0) {
+            error += distanceFastAxis;
+            x += diagonalStepX;
+            y += diagonalStepY;
+        } else {
+            x += parallelStepX;
+            y += parallelStepY;
+        }
+        return true;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return horizontal coordinate of the position before the current one
+     */
+    public int getPreviousX() {
+        return previousX;
+    }
+
+    /**
+     * @return vertical coordinate of the position before the current one
+     */
+    public int getPreviousY() {
+        return previousY;
+    }
+}
@@ -65,14 +65,19 @@ public final class PositionVector implements Cloneable {
 
     @Override
     public boolean equals(final Object other) {
-        if (!(other instanceof PositionVector)) throw new ClassCastException();
+        if (!(other instanceof PositionVector)) return false;
         final PositionVector otherPositionVector = (PositionVector) other;
         return y == otherPositionVector.getY() && x == otherPositionVector.getX();
     }
 
+    /**
+     * Mixes the packed vector ({@link PositionVectorHelper#pack(int, int)}) with a multiplication and a shift.
+     * Both steps can be reversed, so vectors with components in the 16 bit range never have the same hash code.
+     */
     @Override
     public int hashCode() {
-        return x ^ y;
+        int hash = PositionVectorHelper.pack(x, y) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
     }
 
     @Override
@@ -1,5 +1,13 @@
 package ch.zhaw.pm2.racetrack;
 
+/**
+ * Calculations on {@link PositionVector} objects and on their packed primitive form.
+ *
+ * <p>A vector is packed into an int with the x component in the upper and the y component in the lower 16 bits,
+ * both as signed values (-32768 to 32767). A car state (position and velocity) is packed into a long with the
+ * packed position in the upper and the packed velocity in the lower 32 bits. Packed vectors and states can be
+ * stored in primitive arrays and sets without creating objects.</p>
+ */
 public class PositionVectorHelper {
 
     /**
@@ -39,4 +47,138 @@ public class PositionVectorHelper {
         return (vectorA.getY() * vectorB.getY()) + (vectorA.getX() * vectorB.getX());
     }
 
+    /**
+     * Packs the components of a vector into an int.
+     * @param x horizontal component, -32768 to 32767
+     * @param y vertical component, -32768 to 32767
+     * @return the packed vector
+     */
+    public static int pack(final int x, final int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    /**
+     * Packs a vector into an int.
+     * @param vector A position or velocity vector
+     * @return the packed vector
+     */
+    public static int pack(final PositionVector vector) {
+        return pack(vector.getX(), vector.getY());
+    }
+
+    /**
+     * Creates a PositionVector from a packed vector.
+     * @param packed the packed vector
+     * @return A new PositionVector with the components of the packed vector
+     */
+    public static PositionVector unpack(final int packed) {
+        return new PositionVector(getPackedX(packed), getPackedY(packed));
+    }
+
+    /**
+     * @param packed the packed vector
+     * @return the horizontal component of the packed vector
+     */
+    public static int getPackedX(final int packed) {
+        return packed >> 16;
+    }
+
+    /**
+     * @param packed the packed vector
+     * @return the vertical component of the packed vector
+     */
+    public static int getPackedY(final int packed) {
+        return (short) packed;
+    }
+
+    /**
+     * Adds two packed vectors, see {@link #add(PositionVector, PositionVector)}.
+     * @param packedA A packed position or velocity vector
+     * @param packedB A packed position or velocity vector
+     * @return the packed sum
+     */
+    public static int addPacked(final int packedA, final int packedB) {
+        return pack(getPackedX(packedA) + getPackedX(packedB), getPackedY(packedA) + getPackedY(packedB));
+    }
+
+    /**
+     * Subtracts two packed vectors, see {@link #subtract(PositionVector, PositionVector)}.
+     * @param packedA A packed position or velocity vector
+     * @param packedB A packed position or velocity vector
+     * @return the packed difference (packedA - packedB)
+     */
+    public static int subtractPacked(final int packedA, final int packedB) {
+        return pack(getPackedX(packedA) - getPackedX(packedB), getPackedY(packedA) - getPackedY(packedB));
+    }
+
+    /**
+     * Packs the state of a car into a long.
+     * @param x horizontal component of the position
+     * @param y vertical component of the position
+     * @param velocityX horizontal component of the velocity
+     * @param velocityY vertical component of the velocity
+     * @return the packed state
+     */
+    public static long packState(final int x, final int y, final int velocityX, final int velocityY) {
+        return packState(pack(x, y), pack(velocityX, velocityY));
+    }
+
+    /**
+     * Packs the state of a car into a long.
+     * @param packedPosition the packed position
+     * @param packedVelocity the packed velocity
+     * @return the packed state
+     */
+    public static long packState(final int packedPosition, final int packedVelocity) {
+        return ((long) packedPosition << 32) | (packedVelocity & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param state the packed state
+     * @return the packed position of the state
+     */
+    public static int getStatePosition(final long state) {
+        return (int) (state >>> 32);
+    }
+
+    /**
+     * @param state the packed state
+     * @return the packed velocity of the state
+     */
+    public static int getStateVelocity(final long state) {
+        return (int) state;
+    }
+
+    /**
+     * @param state the packed state
+     * @return the horizontal component of the position of the state
+     */
+    public static int getStateX(final long state) {
+        return (int) (state >> 48);
+    }
+
+    /**
+     * @param state the packed state
+     * @return the vertical component of the position of the state
+     */
+    public static int getStateY(final long state) {
+        return (short) (state >>> 32);
+    }
+
+    /**
+     * @param state the packed state
+     * @return the horizontal component of the velocity of the state
+     */
+    public static int getStateVelocityX(final long state) {
+        return (short) (state >>> 16);
+    }
+
+    /**
+     * @param state the packed state
+     * @return the vertical component of the velocity of the state
+     */
+    public static int getStateVelocityY(final long state) {
+        return (short) state;
+    }
+
 }
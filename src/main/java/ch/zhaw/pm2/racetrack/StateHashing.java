@@ -0,0 +1,54 @@
+package ch.zhaw.pm2.racetrack;
+
+/**
+ * Keys of the Zobrist hash of the race state, see {@link Game#getStateHash()}.
+ *
+ * <p>A Zobrist hash combines one random key per feature of the state with XOR, so a change of a feature updates
+ * the hash with two XORs: the key of the old value out, the key of the new value in. The features are the state of
+ * every car (position, velocity, crashed) and the current car. Instead of tables of random keys, which would need
+ * one key per car and state, the keys are derived from the feature values with the SplitMix64 mixing function.
+ * The keys are the same on every run, so hashes can be stored.</p>
+ */
+final class StateHashing {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long CAR_SEED = 0x2545F4914F6CDD1DL;
+    private static final long CURRENT_CAR_SEED = 0x5851F42D4C957F2DL;
+
+    private StateHashing() {
+    }
+
+    /**
+     * @param carIndex the zero-based car index
+     * @param state    the packed state of the car ({@link PositionVectorHelper#packState(int, int, int, int)})
+     * @param crashed  true if the car is crashed
+     * @return the key of the state of the car
+     */
+    static long getCarKey(int carIndex, long state, boolean crashed) {
+        long salt = mix(CAR_SEED + (((long) carIndex << 1) | (crashed ? 1 : 0)) * GOLDEN_GAMMA);
+        return mix(state + salt);
+    }
+
+    /**
+     * @param car      the car
+     * @param carIndex the zero-based index of the car
+     * @return the key of the current state of the car
+     */
+    static long getCarKey(int carIndex, Car car) {
+        return getCarKey(carIndex, PositionVectorHelper.packState(car.getPositionX(), car.getPositionY(),
+            car.getVelocityX(), car.getVelocityY()), car.isCrashed());
+    }
+
+    /**
+     * @param carIndex the zero-based index of the current car
+     * @return the key of the current car
+     */
+    static long getCurrentCarKey(int carIndex) {
+        return mix(CURRENT_CAR_SEED + carIndex * GOLDEN_GAMMA);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,46 @@
+package ch.zhaw.pm2.racetrack;
+
+import java.util.Arrays;
+
+/**
+ * Identity of the terrain of a {@link Track}, as key of caches of data which only depends on the terrain.
+ *
+ * <p>Two keys are equal if their terrains have the same size and the same {@link Config.SpaceType} on every
+ * space, no matter where the cars start or which file the track was loaded from. Unlike a content hash, equal
+ * keys therefore never belong to different terrains. The hash code is calculated once; comparing the terrains
+ * of two tracks loaded from the same file takes time proportional to the size of the grid, the terrain of a
+ * track and its forks is the same instance and is compared in constant time.</p>
+ */
+public final class TerrainKey {
+    private final int width;
+    private final byte[] terrain;
+    private final int hashCode;
+
+    /**
+     * @param width   grid width
+     * @param terrain the {@link Config.SpaceType} ordinal of every space, must never be changed
+     */
+    TerrainKey(int width, byte[] terrain) {
+        this.width = width;
+        this.terrain = terrain;
+        hashCode = 31 * width + Arrays.hashCode(terrain);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TerrainKey)) {
+            return false;
+        }
+        TerrainKey key = (TerrainKey) other;
+        return hashCode == key.hashCode && width == key.width
+            && (terrain == key.terrain || Arrays.equals(terrain, key.terrain));
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -22,6 +22,9 @@ import java.util.List;
  *      in the indicated direction to winn the race.</li>
  * </ul>
  * <p>Beside the board the track contains the list of cars, with their current state (position, velocity, crashed,...)</p>
+ * <p>The board is stored in two layers: the terrain layer holds the {@link Config.SpaceType} of every space and is
+ * never changed after initialization (the starting positions of the cars are TRACK spaces). The occupancy layer
+ * ({@link CarOccupancy}) holds the spaces occupied by cars and is updated on every move.</p>
  *
  * <p>At initialization the track grid data is read from the given track file. The track data must be a
  * rectangular block of text. Empty lines at the start are ignored. Processing stops at the first empty line
@@ -37,6 +40,10 @@ import java.util.List;
  *   <li>Any other character indicates the starting position of a car.<br>
  *       The character acts as the id for the car and must be unique.<br>
  *       There are 1 to {@link Config#MAX_CARS} allowed. </li>
+ *   <li>CAR_SLOT: '*' ({@link Config#CAR_SLOT}) indicates the starting position of a car without own id character,
+ *       e.g. for races of many automated cars. Up to {@link Config#MAX_CAR_SLOTS} slots are allowed in addition to
+ *       the cars with id characters. All slot cars are shown as '*' and named '*' followed by the number of the
+ *       slot, counted from 1 in reading order ({@link Car#getName()}).</li>
  * </ul>
  * </p>
  * <p>All lines must have the same length, used to initialize the grid width).
@@ -46,7 +53,8 @@ import java.util.List;
  * <ul>
  *   <li>not all track lines have the same length</li>
  *   <li>the file contains no track lines (grid height is 0)</li>
- *   <li>the file contains more than {@link Config#MAX_CARS} cars</li>
+ *   <li>the file contains more than {@link Config#MAX_CARS} cars with id characters or more than
+ *       {@link Config#MAX_CAR_SLOTS} car slots</li>
  * </ul>
  *
  * <p>The Track can return a String representing the current state of the race (including car positons)</p>
@@ -57,11 +65,17 @@ import java.util.List;
  */
 public class Track {
 
-    private TrackParser trackParser;
-    private List<Car> cars;
-    private List<Config.SpaceType> trackSpaceTypes;
-    private final Integer width;
-    private final Integer height;
+    private static final Config.SpaceType[] SPACE_TYPES = Config.SpaceType.values();
+
+    private final TrackParser trackParser;
+    private final List<Car> cars;
+    private int carSlots;
+    private final byte[] terrain;
+    private final TerrainKey terrainKey;
+    private final CarOccupancy occupancy;
+    private final int width;
+    private final int height;
+    private DistanceField distanceField;
 
     /**
      * Initialize a Track from the given track file.
@@ -72,12 +86,48 @@ public class Track {
      */
     public Track(File trackFile) throws FileNotFoundException, InvalidTrackFormatException {
         cars = new ArrayList<>();
-        trackSpaceTypes = new ArrayList<>();
         trackParser = new TrackParser(trackFile);
         width = trackParser.getWidth();
         height = trackParser.getHeight();
-        addCarAndSpaceTypeToArrayList();
+        terrain = new byte[width * height];
+        occupancy = new CarOccupancy();
+        addCarAndSpaceTypeToArray(trackParser.getTrackCharacters());
         checkForTooManyCarsOnTrack();
+        terrainKey = new TerrainKey(width, terrain);
+        trackParser.writeCompiledTrack();
+    }
+
+    /**
+     * Creates a track which shares the terrain with the given track and has copies of its cars
+     * ({@link Car#copy()}) and occupancy layer.
+     *
+     * @param track the track to copy
+     */
+    private Track(Track track) {
+        trackParser = track.trackParser;
+        terrain = track.terrain;
+        terrainKey = track.terrainKey;
+        width = track.width;
+        height = track.height;
+        distanceField = track.distanceField;
+        carSlots = track.carSlots;
+        cars = new ArrayList<>(track.cars.size());
+        for (Car car : track.cars) {
+            cars.add(car.copy());
+        }
+        occupancy = track.occupancy.copy();
+    }
+
+    /**
+     * Creates an independent copy of the race on this track, e.g. to simulate moves without changing this track.
+     * The terrain is never changed, so it is shared; only the cars and the occupancy layer are copied. The copy
+     * takes time proportional to the amount of cars, not to the size of the grid. The strategies of the cars are
+     * not copied.
+     *
+     * @return the copy
+     */
+    public Track fork() {
+        return new Track(this);
     }
 
     public TrackParser getTrackParser() {
@@ -108,53 +158,222 @@ public class Track {
         return cars.get(carNumber).getCarCrashStatus();
     }
 
-    public List<PositionVector> getTrackPositionVectors() {
-        return trackParser.getTrackPositionVector();
+    /**
+     * Returns the content hash of the track file this track was loaded from.
+     *
+     * @return the CRC32C hash of the track file
+     */
+    public long getContentHash() {
+        return trackParser.getContentHash();
+    }
+
+    /**
+     * Returns the identity of the terrain of this track, e.g. to share data which only depends on the terrain
+     * between tracks loaded from the same file.
+     *
+     * @return the terrain key, the same instance for this track and its forks
+     */
+    public TerrainKey getTerrainKey() {
+        return terrainKey;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
     }
 
-    private PositionVector getPositionVectorFromIndex(int index) {
-        return trackParser.getTrackPositionVector().get(index);
+    /**
+     * Returns the distance field of the terrain. The field is calculated on the first call and shared with all
+     * tracks loaded from the same track content, so it must not be changed.
+     *
+     * @return the {@link DistanceField} of this track
+     */
+    public DistanceField getDistanceField() {
+        if (distanceField == null) {
+            distanceField = DistanceField.of(this);
+        }
+        return distanceField;
+    }
+
+    /**
+     * Returns the shortest grid distance from the current position of the car to the finish line.
+     *
+     * @param carNumber the zero-based car index
+     * @return the amount of steps or {@link DistanceField#UNREACHABLE}
+     */
+    public int getCarDistanceToFinish(int carNumber) {
+        Car car = cars.get(carNumber);
+        return getDistanceField().getDistance(car.getPositionX(), car.getPositionY());
+    }
+
+    /**
+     * Returns the position of the space stored at the given index of the flat track grid.
+     *
+     * @param index index on the track grid ({@code y * width + x})
+     * @return the {@link PositionVector} of the space
+     */
+    public PositionVector getPositionVectorFromIndex(int index) {
+        return new PositionVector(index % width, index / width);
+    }
+
+    /**
+     * Returns the index of the given position on the flat track grid.
+     *
+     * @param position position on the track
+     * @return the index ({@code y * width + x}) or -1 if the position is outside the grid
+     */
+    public int getIndexOnTrackFromPositionVector(PositionVector position) {
+        return getIndexOnTrack(position.getX(), position.getY());
     }
 
-    public Integer getIndexOnTrackFromPositionVector (PositionVector position) {
-        return getTrackPositionVectors().indexOf(position);
+    private int getIndexOnTrack(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return -1;
+        }
+        return y * width + x;
     }
 
     /**
-     * Returns the {@link Config.SpaceType} from a given {@link PositionVector}
+     * Returns the {@link Config.SpaceType} from a given {@link PositionVector}.
+     * Spaces occupied by a car are returned as {@link Config.SpaceType#CAR}.
      *
      * @param positionVector position to retrieve {@link Config.SpaceType} from
      * @return {@link Config.SpaceType}
      */
     public Config.SpaceType getSpaceType(PositionVector positionVector) {
-        int index = trackParser.getTrackPositionVector().indexOf(positionVector);
-        return trackSpaceTypes.get(index);
+        return getSpaceType(positionVector.getX(), positionVector.getY());
+    }
+
+    /**
+     * Returns the {@link Config.SpaceType} of the space at the given coordinates.
+     * Spaces occupied by a car are returned as {@link Config.SpaceType#CAR}.
+     *
+     * @param x horizontal coordinate on the grid
+     * @param y vertical coordinate on the grid
+     * @return {@link Config.SpaceType}
+     */
+    public Config.SpaceType getSpaceType(int x, int y) {
+        int index = getIndexOnTrack(x, y);
+        if (occupancy.getCar(index) != CarOccupancy.FREE) {
+            return Config.SpaceType.CAR;
+        }
+        return SPACE_TYPES[terrain[index]];
+    }
+
+    /**
+     * Returns the {@link Config.SpaceType} of the terrain at the given coordinates, ignoring cars.
+     *
+     * @param x horizontal coordinate on the grid
+     * @param y vertical coordinate on the grid
+     * @return {@link Config.SpaceType} of the terrain, never {@link Config.SpaceType#CAR}
+     */
+    public Config.SpaceType getTerrainType(int x, int y) {
+        return SPACE_TYPES[terrain[getIndexOnTrack(x, y)]];
+    }
+
+    /**
+     * Returns the index of the car which occupies the space at the given coordinates.
+     *
+     * @param x horizontal coordinate on the grid
+     * @param y vertical coordinate on the grid
+     * @return the zero-based car index or {@link CarOccupancy#FREE} if no car occupies the space
+     */
+    public int getCarIndexAt(int x, int y) {
+        return occupancy.getCar(getIndexOnTrack(x, y));
+    }
+
+    /**
+     * Returns the space occupied by the given car.
+     *
+     * @param carNumber the zero-based car index
+     * @return the index of the space on the track grid ({@code y * width + x}) or {@link CarOccupancy#FREE} if the
+     * car is not on the track anymore
+     */
+    public int getCarCell(int carNumber) {
+        return occupancy.getCell(carNumber);
+    }
+
+    /**
+     * Returns if the space at the given coordinates is occupied by a car.
+     *
+     * @param x horizontal coordinate on the grid
+     * @param y vertical coordinate on the grid
+     * @return true if a car occupies the space
+     */
+    public boolean isOccupied(int x, int y) {
+        return getCarIndexAt(x, y) != CarOccupancy.FREE;
+    }
+
+    /**
+     * Returns the character which represents the given position in the text representation of the track.
+     *
+     * @param position position on the track
+     * @return the character of the space or car
+     */
+    public char getTrackCharacter(PositionVector position) {
+        return getTrackCharacter(position.getX(), position.getY());
+    }
+
+    /**
+     * Returns the character which represents the space at the given coordinates in the text representation of the
+     * track.
+     *
+     * @param x horizontal coordinate on the grid
+     * @param y vertical coordinate on the grid
+     * @return the character of the space or car
+     */
+    public char getTrackCharacter(int x, int y) {
+        int index = getIndexOnTrack(x, y);
+        int carIndex = occupancy.getCar(index);
+        if (carIndex != CarOccupancy.FREE) {
+            return getCarId(carIndex);
+        }
+        return SPACE_TYPES[terrain[index]].getChar();
     }
 
     /**
-     * Updates the position of the car on the track
+     * Updates the position of the car in the occupancy layer of the track.
+     * If the new position is occupied by another car, the car is removed from the track and the other car keeps
+     * its space. The terrain layer is not changed.
      *
-     * @param newPosition the position to be updated with the Car-character and SpaceType.CAR
+     * @param newPosition the position to be occupied by the car
      * @param carIndex    the car for which the update needs to be executed
      */
     public void updateCarOnTrack(PositionVector newPosition, int carIndex) {
-        Character track = ' ';
-        //Get the list indices of the to be modified points
-        int indexOldPosition = getIndexOnTrackFromPositionVector(cars.get(carIndex).getPosition());
-        int indexNewPosition = getIndexOnTrackFromPositionVector(newPosition);
-        //set old position to a space " " and SpaceType.TRACK (--> if crash with another Car)
-        if (getSpaceType(newPosition).equals(Config.SpaceType.CAR)) {
-            trackParser.getTrackCharacters().set(indexOldPosition, track);
-            trackSpaceTypes.set(indexOldPosition, Config.SpaceType.TRACK);
+        updateCarOnTrack(newPosition.getX(), newPosition.getY(), carIndex);
+    }
+
+    /**
+     * Updates the position of the car in the occupancy layer of the track.
+     *
+     * @param x        horizontal coordinate of the position to be occupied by the car
+     * @param y        vertical coordinate of the position to be occupied by the car
+     * @param carIndex the car for which the update needs to be executed
+     * @see #updateCarOnTrack(PositionVector, int)
+     */
+    public void updateCarOnTrack(int x, int y, int carIndex) {
+        int indexNewPosition = getIndexOnTrack(x, y);
+        int otherCar = occupancy.getCar(indexNewPosition);
+        if (otherCar != CarOccupancy.FREE && otherCar != carIndex) {
+            //crash with another car --> the car leaves the track, the other car stays on its space
+            occupancy.remove(carIndex);
         } else {
-            //set new position to the CarID and SpaceType.CAR (--> No Crash)
-            trackParser.getTrackCharacters().set(indexOldPosition, track);
-            trackSpaceTypes.set(indexOldPosition, Config.SpaceType.TRACK);
-            trackParser.getTrackCharacters().set(indexNewPosition, getCarId(carIndex));
-            trackSpaceTypes.set(indexNewPosition, Config.SpaceType.CAR);
+            occupancy.place(carIndex, indexNewPosition);
         }
     }
 
+    /**
+     * Removes the car from the occupancy layer of the track, e.g. before its state is restored.
+     *
+     * @param carIndex the zero-based car index
+     */
+    public void removeCarFromTrack(int carIndex) {
+        occupancy.remove(carIndex);
+    }
+
     /**
      * Returns a String representation of the given track
      *
@@ -162,31 +381,36 @@ public class Track {
      */
     @Override
     public String toString() {
-        StringBuilder track = new StringBuilder();
-        int lengthOfRow = width - 1;
-        for (int lengthOfTrack = 0; lengthOfTrack < trackParser.getTrackCharacters().size(); lengthOfTrack++) {
-            if (lengthOfTrack == lengthOfRow && lengthOfRow != trackParser.getTrackCharacters().size() - 1) {
-                track.append(trackParser.getTrackCharacters().get(lengthOfTrack)).append("\n");
-                lengthOfRow += width;
-            } else {
-                track.append(trackParser.getTrackCharacters().get(lengthOfTrack));
+        StringBuilder track = new StringBuilder((width + 1) * height);
+        for (int index = 0; index < terrain.length; index++) {
+            if (index > 0 && index % width == 0) {
+                track.append('\n');
+            }
+            track.append(SPACE_TYPES[terrain[index]].getChar());
+        }
+        for (int carIndex = 0; carIndex < cars.size(); carIndex++) {
+            int cell = occupancy.getCell(carIndex);
+            if (cell != CarOccupancy.FREE) {
+                track.setCharAt(cell + cell / width, getCarId(carIndex));
             }
         }
         return track.toString();
     }
 
-    private void addCarAndSpaceTypeToArrayList() throws InvalidTrackFormatException {
-        for (Character character : trackParser.getTrackCharacters()) {
+    private void addCarAndSpaceTypeToArray(char[] trackCharacters) throws InvalidTrackFormatException {
+        for (int index = 0; index < trackCharacters.length; index++) {
+            char character = trackCharacters[index];
             if (isCar(character)) {
-                trackSpaceTypes.add(Config.SpaceType.CAR);
-                initializeAndAddValidCarToList(character, getPositionVectorFromIndex(trackParser.getTrackCharacters().indexOf(character)));
+                terrain[index] = (byte) Config.SpaceType.TRACK.ordinal();
+                initializeAndAddValidCarToList(character, getPositionVectorFromIndex(index));
+                occupancy.place(cars.size() - 1, index);
             } else {
-                trackSpaceTypes.add(trackParser.getSpaceTypeOfCharacter(character));
+                terrain[index] = (byte) trackParser.getSpaceTypeOfCharacter(character).ordinal();
             }
         }
     }
 
-    private Boolean isCar(Character character) {
+    private boolean isCar(char character) {
         for (Config.SpaceType space : Config.SpaceType.values()) {
             if (space.getChar() == character) {
                 return false;
@@ -196,13 +420,18 @@ public class Track {
     }
 
     private void initializeAndAddValidCarToList(Character character, PositionVector position) throws InvalidTrackFormatException {
+        if (character == Config.CAR_SLOT) {
+            carSlots++;
+            cars.add(new Car(character, Character.toString(character) + carSlots, position.getX(), position.getY()));
+            return;
+        }
         Car car = new Car(character, position.getX(), position.getY());
         checkForIdenticalCarsOnTrack(character);
         cars.add(car);
     }
 
     private void checkForTooManyCarsOnTrack() throws InvalidTrackFormatException {
-        if (!(cars.size() <= Config.MAX_CARS)) {
+        if (!(cars.size() - carSlots <= Config.MAX_CARS) || carSlots > Config.MAX_CAR_SLOTS) {
             throw new InvalidTrackFormatException("This Track-File is invalid - there are too many cars on the track.");
         }
     }
@@ -1,146 +1,191 @@
 package ch.zhaw.pm2.racetrack;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads a track file in a single streaming pass.
+ *
+ * <p>The file is read in large character blocks. While reading, the parser checks that all track lines have
+ * the same length and that the track is surrounded by WALL spaces, and it copies the characters directly into
+ * one flat grid (index {@code y * width + x}). Lines with less than two characters are skipped.</p>
+ * <p>After the track has been validated ({@link #writeCompiledTrack()}) the grid is stored as {@link CompiledTrack}
+ * next to the text file. As long as the content hash of the text file does not change, later loads read the
+ * compiled track instead and do not open the text file.</p>
+ */
 public class TrackParser {
 
-    private Integer width;
-    private Integer height;
-    private ArrayList<String> trackLines;
-    private List<Character> trackCharacters;
-    private List<PositionVector> trackPositionVectors;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_GRID_HEIGHT = 3;
+    private static final char WALL = Config.SpaceType.WALL.getChar();
+
+    private int width;
+    private int height;
+    private char[] trackCharacters;
+    private long contentHash;
+    private final File compiledFile;
+    private final long sourceLength;
+    private boolean loadedFromCompiledTrack;
+    private int column;
+    private boolean firstAndLastColumnAreWalls;
+    private boolean lineIsWall;
+    private boolean isRectangle = true;
+    private boolean isSurroundedByWalls = true;
 
     public TrackParser(File trackFile) throws FileNotFoundException, InvalidTrackFormatException {
-        trackLines = new ArrayList<>();
-        trackCharacters = new ArrayList<>();
-        trackPositionVectors = new ArrayList<>();
-
-        readLineByLineIntoArray(initializeReader(trackFile));
-        checkIfTrackIsRectangle();
-
-        addCharacterFromLineToArrayList();
-        checkIfTrackIsSurroundedByWALLS(getCharactersAroundTrack());
-
-        addPositionVectorToArrayList();
+        if (!trackFile.exists()) {
+            throw new FileNotFoundException();
+        }
+        compiledFile = CompiledTrack.getCompiledFile(trackFile);
+        sourceLength = trackFile.length();
+        try {
+            contentHash = CompiledTrack.calculateContentHash(trackFile);
+        } catch (IOException e) {
+            throw new InvalidTrackFormatException("Something went wrong - File couldn't be read.");
+        }
+        CompiledTrack compiledTrack = CompiledTrack.load(compiledFile, sourceLength, contentHash);
+        if (compiledTrack != null) {
+            loadedFromCompiledTrack = true;
+            width = compiledTrack.getWidth();
+            height = compiledTrack.getHeight();
+            trackCharacters = compiledTrack.getTrackCharacters();
+        } else {
+            parseTrack(new InputStreamReader(new FileInputStream(trackFile)));
+        }
     }
 
-    public Integer getWidth() {
+    public int getWidth() {
         return width;
     }
 
-    public Integer getHeight() {
+    public int getHeight() {
         return height;
     }
 
-    public List<Character> getTrackCharacters() {
-        return trackCharacters;
+    /**
+     * Returns the CRC32C hash of the content of the track file.
+     *
+     * @return the content hash
+     */
+    public long getContentHash() {
+        return contentHash;
     }
 
-    public ArrayList<String> getRowArrayList() {
-        return trackLines;
+    /**
+     * Returns the characters of the track grid as one flat array.
+     * The character of the space (x, y) is stored at index {@code y * width + x}.
+     *
+     * @return the flat character grid
+     */
+    public char[] getTrackCharacters() {
+        return trackCharacters;
     }
 
-    public List<PositionVector> getTrackPositionVector() {
-        return trackPositionVectors;
+    private void parseTrack(Reader reader) throws InvalidTrackFormatException {
+        trackCharacters = new char[BUFFER_SIZE];
+        readTrack(reader);
+        checkIfEnoughLinesOnTrack();
+        checkIfTrackIsRectangle();
+        checkIfTrackIsSurroundedByWALLS();
+        trackCharacters = Arrays.copyOf(trackCharacters, width * height);
     }
 
-    private ArrayList<String> getColumnArrayList() {
-        return generateColumnList();
+    /**
+     * Stores the parsed grid as {@link CompiledTrack}, unless it has been read from it. Must only be called after
+     * the track has been validated, so an invalid track is never cached.
+     */
+    void writeCompiledTrack() {
+        if (loadedFromCompiledTrack) {
+            return;
+        }
+        try {
+            CompiledTrack.write(compiledFile, sourceLength, contentHash, width, height, trackCharacters);
+        } catch (IOException e) {
+            // the compiled track is only a cache, the next load parses the text file again
+        }
     }
 
-    private ArrayList<String> generateColumnList() {
-        String[] columnStringArray;
-        ArrayList<String> columnStringArrayList = new ArrayList<>();
-        for (int amountOfLines = 0; amountOfLines < height; amountOfLines++) {
-            if (amountOfLines == 0) {
-                columnStringArray = trackLines.get(amountOfLines).split("");
-                Collections.addAll(columnStringArrayList, columnStringArray);
-            } else {
-                columnStringArray = trackLines.get(amountOfLines).split("");
-                for (int amountOfCharacters = 0; amountOfCharacters < (columnStringArray.length); amountOfCharacters++) {
-                    String toAppend = columnStringArray[amountOfCharacters];
-                    columnStringArrayList.set(amountOfCharacters, columnStringArrayList.get(amountOfCharacters).concat(toAppend));
+    private void readTrack(Reader reader) throws InvalidTrackFormatException {
+        try (reader) {
+            char[] buffer = new char[BUFFER_SIZE];
+            int length;
+            startLine();
+            while ((length = reader.read(buffer)) != -1) {
+                for (int i = 0; i < length; i++) {
+                    char character = buffer[i];
+                    if (character == '\n' || character == '\r') {
+                        endLine();
+                        startLine();
+                    } else {
+                        addCharacter(character);
+                    }
                 }
             }
+            endLine();
+        } catch (IOException e) {
+            throw new InvalidTrackFormatException("Something went wrong - File couldn't be read.");
         }
-        return columnStringArrayList;
-    }
-
-    private ArrayList<Integer> getArrayWithLengths(ArrayList<String> stringsToGetLengthOf) throws InvalidTrackFormatException {
-        ArrayList<Integer> lengthOfStrings = new ArrayList<>();
-        for (String line : stringsToGetLengthOf) {
-            lengthOfStrings.add(line.length());
+        if (height > 0 && isRectangle) {
+            checkIfLastLineIsWall();
         }
-        checkIfEnoughLinesOnTrack(lengthOfStrings);
-        return lengthOfStrings;
     }
 
-    private BufferedReader initializeReader(File trackFile) throws FileNotFoundException {
-        BufferedReader reader;
-        if (trackFile.exists()) {
-            FileInputStream fileStream = new FileInputStream(trackFile);
-            InputStreamReader input = new InputStreamReader(fileStream);
-            reader = new BufferedReader(input);
-        } else {
-            throw new FileNotFoundException();
-        }
-        return reader;
+    private void startLine() {
+        column = 0;
+        lineIsWall = true;
+        firstAndLastColumnAreWalls = true;
     }
 
-    private void readLineByLineIntoArray(BufferedReader reader) throws InvalidTrackFormatException {
-        try {
-            String line;
-            trackLines = new ArrayList<>();
-            while ((line = reader.readLine()) != null) {
-                width = line.length();
-                if (width > 1) {
-                    trackLines.add(line);
-                }
+    private void addCharacter(char character) {
+        if (isRectangle && (height == 0 || column < width)) {
+            int index = height * width + column;
+            if (index >= trackCharacters.length) {
+                trackCharacters = Arrays.copyOf(trackCharacters, trackCharacters.length * 2);
             }
-            height = trackLines.size();
-            reader.close();
-        } catch (IOException e) {
-            throw new InvalidTrackFormatException("Something went wrong - File couldn't be read.");
+            trackCharacters[index] = character;
         }
-    }
-
-    private Boolean compareCharAmountInString(List<Integer> lengthOfStrings) {
-        Integer length = lengthOfStrings.get(0);
-        for (int current : lengthOfStrings) {
-            if (!(length.equals(current))) {
-                return false;
+        if (character != WALL) {
+            lineIsWall = false;
+            if (column == 0) {
+                firstAndLastColumnAreWalls = false;
             }
         }
-        return true;
+        column++;
     }
 
-    private void addCharacterFromLineToArrayList() {
-        for (String line : trackLines) {
-            for (String character : line.split("")) {
-                trackCharacters.add(character.charAt(0));
-            }
+    private void endLine() {
+        if (column <= 1) {
+            return;
+        }
+        if (height == 0) {
+            width = column;
+            isSurroundedByWalls = lineIsWall;
+        } else if (column != width) {
+            isRectangle = false;
+        }
+        if (isRectangle && trackCharacters[height * width + width - 1] != WALL) {
+            firstAndLastColumnAreWalls = false;
         }
+        isSurroundedByWalls &= firstAndLastColumnAreWalls;
+        height++;
     }
 
-    private ArrayList<Character> getCharactersAroundTrack() {
-        ArrayList<Character> charactersAroundTrack = new ArrayList<>();
-        for (int i = 0; i < trackCharacters.size(); i++) {
-            if (i < width || i % width == 0 || i % width == 1 || (trackCharacters.size() - width) <= i) {
-                charactersAroundTrack.add(trackCharacters.get(i));
+    private void checkIfLastLineIsWall() {
+        int lastLine = (height - 1) * width;
+        for (int index = lastLine; index < lastLine + width; index++) {
+            if (trackCharacters[index] != WALL) {
+                isSurroundedByWalls = false;
+                return;
             }
         }
-        return charactersAroundTrack;
     }
 
-    public Config.SpaceType getSpaceTypeOfCharacter(Character character) {
+    public Config.SpaceType getSpaceTypeOfCharacter(char character) {
         switch (character) {
             case ('#'):
                 return Config.SpaceType.WALL;
@@ -159,37 +204,21 @@ public class TrackParser {
         }
     }
 
-    private void addPositionVectorToArrayList() {
-        for (int currentColumn = 0; currentColumn < height; currentColumn++) {
-            for (int currentRow = 0; currentRow < width; currentRow++) {
-                trackPositionVectors.add(new PositionVector(currentRow, currentColumn));
-            }
-        }
-        trackPositionVectors = Collections.unmodifiableList(trackPositionVectors);
-    }
-
     private void checkIfTrackIsRectangle() throws InvalidTrackFormatException {
-        Boolean rows = compareCharAmountInString(getArrayWithLengths(getRowArrayList()));
-        Boolean columns = compareCharAmountInString(getArrayWithLengths(getColumnArrayList()));
-        if (!(rows && columns)) {
+        if (!isRectangle) {
             throw new InvalidTrackFormatException("This Track-File is invalid - the Track isn't a rectangle!");
         }
     }
 
-    private void checkIfEnoughLinesOnTrack(ArrayList<Integer> lengthOfStrings) throws InvalidTrackFormatException {
-        int MIN_GRID_HEIGHT = 3;
-        if (lengthOfStrings.size() < MIN_GRID_HEIGHT) {
+    private void checkIfEnoughLinesOnTrack() throws InvalidTrackFormatException {
+        if (height < MIN_GRID_HEIGHT) {
             throw new InvalidTrackFormatException("This Track-File is invalid - the grid height is zero!");
         }
     }
 
-    private void checkIfTrackIsSurroundedByWALLS(ArrayList<Character> charactersAroundTrack) throws InvalidTrackFormatException {
-        boolean surrounded;
-        for (Character character : charactersAroundTrack) {
-            surrounded = (getSpaceTypeOfCharacter(character).equals(Config.SpaceType.WALL));
-            if (!surrounded) {
-                throw new InvalidTrackFormatException("This Track-File is invalid - Track is not surrounded by WALLS.");
-            }
+    private void checkIfTrackIsSurroundedByWALLS() throws InvalidTrackFormatException {
+        if (!isSurroundedByWalls) {
+            throw new InvalidTrackFormatException("This Track-File is invalid - Track is not surrounded by WALLS.");
         }
     }
 }
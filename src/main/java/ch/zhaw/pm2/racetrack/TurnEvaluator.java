@@ -0,0 +1,181 @@
+package ch.zhaw.pm2.racetrack;
+
+/**
+ * Applies the movement rules of a single car turn to a path on the track, without changing any state.
+ *
+ * <p>The path from the start to the end position is walked with a {@link PathCursor}. For each step it is
+ * checked what the car hits:</p>
+ * <ul>
+ *     <li>WALL or another car: the car crashes on this position</li>
+ *     <li>FINISH_* passed in the wrong direction: the car is blocked and stops on the previous position</li>
+ *     <li>FINISH_* passed in the right direction: the car wins on this position</li>
+ * </ul>
+ * <p>The same rules are used by {@link Game#doCarTurn(PositionVector.Direction)} and by strategies which plan
+ * ahead. An evaluator is not thread safe, but cheap to create. An evaluator which ignores cars only checks the
+ * terrain, e.g. to validate a path before the race.</p>
+ */
+public class TurnEvaluator {
+
+    /**
+     * Result of a turn.
+     */
+    public enum Outcome {
+        MOVED, CRASHED, WON
+    }
+
+    private final Track track;
+    private final boolean carsAreObstacles;
+    private final PathCursor pathCursor = new PathCursor();
+    private int endX;
+    private int endY;
+
+    public TurnEvaluator(Track track) {
+        this(track, true);
+    }
+
+    /**
+     * @param track            the track to evaluate turns on
+     * @param carsAreObstacles false if cars are ignored and only WALL spaces crash a car
+     */
+    public TurnEvaluator(Track track, boolean carsAreObstacles) {
+        this.track = track;
+        this.carsAreObstacles = carsAreObstacles;
+    }
+
+    /**
+     * Evaluates the path of a car from the start to the end position.
+     * The position the car stops on can be read with {@link #getEndX()} and {@link #getEndY()} afterwards.
+     *
+     * @param carIndex the zero-based index of the moving car, the space occupied by this car is not an obstacle
+     * @param startX   horizontal coordinate of the start position
+     * @param startY   vertical coordinate of the start position
+     * @param targetX  horizontal coordinate of the position the car would reach with its velocity
+     * @param targetY  vertical coordinate of the position the car would reach with its velocity
+     * @return the outcome of the turn
+     */
+    public Outcome evaluate(int carIndex, int startX, int startY, int targetX, int targetY) {
+        endX = targetX;
+        endY = targetY;
+        pathCursor.reset(startX, startY, targetX, targetY);
+        while (pathCursor.next()) {
+            int x = pathCursor.getX();
+            int y = pathCursor.getY();
+            if (willCarCrash(carIndex, x, y)) {
+                endX = x;
+                endY = y;
+                return Outcome.CRASHED;
+            } else if (isBlockingBackDriving(startX, x, y)) {
+                endX = pathCursor.getPreviousX();
+                endY = pathCursor.getPreviousY();
+                return Outcome.MOVED;
+            } else if (willCarReachFinishLine(x, y)) {
+                endX = x;
+                endY = y;
+                return Outcome.WON;
+            }
+        }
+        return Outcome.MOVED;
+    }
+
+    /**
+     * Checks if the car can brake from the given state to a stop without crashing: every turn the velocity is
+     * reduced by one on both axes. Crossing the finish line while braking counts as stopped. Overwrites the end
+     * position of the last evaluated turn.
+     *
+     * @param carIndex  the zero-based index of the moving car
+     * @param x         horizontal coordinate of the position
+     * @param y         vertical coordinate of the position
+     * @param velocityX horizontal velocity of the car
+     * @param velocityY vertical velocity of the car
+     * @return true if braking on both axes every turn does not crash the car
+     */
+    public boolean canStop(int carIndex, int x, int y, int velocityX, int velocityY) {
+        while (velocityX != 0 || velocityY != 0) {
+            velocityX -= Integer.signum(velocityX);
+            velocityY -= Integer.signum(velocityY);
+            Outcome outcome = evaluate(carIndex, x, y, x + velocityX, y + velocityY);
+            if (outcome == Outcome.CRASHED) {
+                return false;
+            } else if (outcome == Outcome.WON) {
+                return true;
+            }
+            x = endX;
+            y = endY;
+        }
+        return true;
+    }
+
+    /**
+     * @return horizontal coordinate of the position the car stopped on in the last evaluated turn
+     */
+    public int getEndX() {
+        return endX;
+    }
+
+    /**
+     * @return vertical coordinate of the position the car stopped on in the last evaluated turn
+     */
+    public int getEndY() {
+        return endY;
+    }
+
+    /**
+     * Does indicate if a car would have a crash with a WALL space or another car at the given position.
+     *
+     * @param carIndex the zero-based index of the moving car
+     * @param x        horizontal coordinate of the position
+     * @param y        vertical coordinate of the position
+     * @return true if the car would crash with a WALL or another car
+     */
+    public boolean willCarCrash(int carIndex, int x, int y) {
+        if (track.getTerrainType(x, y) == Config.SpaceType.WALL) {
+            return true;
+        } else if (!carsAreObstacles) {
+            return false;
+        }
+        int otherCar = track.getCarIndexAt(x, y);
+        return otherCar != CarOccupancy.FREE && otherCar != carIndex;
+    }
+
+    private boolean isBlockingBackDriving(int startX, int currentX, int currentY) {
+        return isBlockingBackDriving(track.getTerrainType(currentX, currentY), startX, currentX);
+    }
+
+    /**
+     * Does indicate if a finish line space blocks a car which started its move at the given horizontal coordinate.
+     *
+     * @param spaceType the space type of the current position
+     * @param startX    horizontal coordinate of the start position of the move
+     * @param currentX  horizontal coordinate of the current position
+     * @return true if the space is a finish line space which is passed in the wrong direction
+     */
+    static boolean isBlockingBackDriving(Config.SpaceType spaceType, int startX, int currentX) {
+        boolean shouldBeBlocked = false;
+        if (spaceType == Config.SpaceType.FINISH_LEFT) {
+            if (currentX > startX) {
+                shouldBeBlocked = true;
+            }
+        } else if (spaceType == Config.SpaceType.FINISH_RIGHT) {
+            if (currentX < startX) {
+                shouldBeBlocked = true;
+            }
+        } else if (spaceType == Config.SpaceType.FINISH_DOWN) {
+            if (currentX > startX) {
+                shouldBeBlocked = true;
+            }
+        } else if (spaceType == Config.SpaceType.FINISH_UP) {
+            if (currentX < startX) {
+                shouldBeBlocked = true;
+            }
+        }
+        return shouldBeBlocked;
+    }
+
+    private boolean willCarReachFinishLine(int x, int y) {
+        Config.SpaceType spaceType = track.getTerrainType(x, y);
+        return spaceType == Config.SpaceType.FINISH_DOWN ||
+            spaceType == Config.SpaceType.FINISH_LEFT ||
+            spaceType == Config.SpaceType.FINISH_RIGHT ||
+            spaceType == Config.SpaceType.FINISH_UP;
+    }
+}
@@ -0,0 +1,36 @@
+package ch.zhaw.pm2.racetrack.collections;
+
+/**
+ * Hash functions and sizing shared by the open addressing collections.
+ */
+final class HashTables {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private HashTables() {
+    }
+
+    /**
+     * Returns the table capacity for the given amount of entries: a power of two with a load factor of at most 0.5.
+     *
+     * @param expectedSize amount of entries
+     * @param minCapacity  minimum capacity, a power of two
+     * @return the capacity
+     */
+    static int getCapacity(int expectedSize, int minCapacity) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative expected size: " + expectedSize);
+        }
+        long capacity = Math.max(minCapacity, Long.highestOneBit(Math.max(1, (long) expectedSize * 2 - 1)) << 1);
+        return (int) Math.min(capacity, MAX_CAPACITY);
+    }
+
+    static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
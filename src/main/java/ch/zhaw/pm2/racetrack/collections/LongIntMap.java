@@ -0,0 +1,170 @@
+package ch.zhaw.pm2.racetrack.collections;
+
+import java.util.Arrays;
+
+/**
+ * Map from long keys to int values with open addressing and linear probing.
+ *
+ * <p>Keys and values are stored in a long and an int array, so an entry needs 24 bytes at most and no objects
+ * are created. Lookups of missing keys return the missing value given to the constructor. The key 0 marks an
+ * empty slot and is stored separately. Removed entries are closed by shifting the following entries of the probe
+ * sequence back.</p>
+ */
+public class LongIntMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private boolean containsZero;
+    private int zeroValue;
+
+    /**
+     * @param missingValue value returned for keys which are not in the map
+     */
+    public LongIntMap(int missingValue) {
+        this(missingValue, MIN_CAPACITY / 2);
+    }
+
+    /**
+     * @param missingValue value returned for keys which are not in the map
+     * @param expectedSize amount of entries the map can hold without growing
+     */
+    public LongIntMap(int missingValue, int expectedSize) {
+        this.missingValue = missingValue;
+        int capacity = HashTables.getCapacity(expectedSize, MIN_CAPACITY);
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * @param key the key
+     * @return the value of the key or the missing value
+     */
+    public int get(long key) {
+        if (key == 0) {
+            return containsZero ? zeroValue : missingValue;
+        }
+        int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : missingValue;
+    }
+
+    /**
+     * @param key the key
+     * @return true if the map contains the key
+     */
+    public boolean containsKey(long key) {
+        return key == 0 ? containsZero : findSlot(key) >= 0;
+    }
+
+    /**
+     * Stores a value for a key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value of the key or the missing value
+     */
+    public int put(long key, int value) {
+        if (key == 0) {
+            int previous = containsZero ? zeroValue : missingValue;
+            containsZero = true;
+            zeroValue = value;
+            return previous;
+        }
+        int mask = keys.length - 1;
+        int slot = HashTables.hash(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return the value of the removed key or the missing value
+     */
+    public int remove(long key) {
+        if (key == 0) {
+            int previous = containsZero ? zeroValue : missingValue;
+            containsZero = false;
+            return previous;
+        }
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return missingValue;
+        }
+        int previous = values[slot];
+        size--;
+        int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while (keys[next] != 0) {
+            int home = HashTables.hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = 0;
+        return previous;
+    }
+
+    /**
+     * @return the amount of entries in the map
+     */
+    public int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    /**
+     * Removes all entries, the capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    private int findSlot(long key) {
+        int mask = keys.length - 1;
+        for (int slot = HashTables.hash(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (oldKeys[index] != 0) {
+                int slot = HashTables.hash(oldKeys[index]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[index];
+                values[slot] = oldValues[index];
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ch.zhaw.pm2.racetrack.collections;
+
+import java.util.Arrays;
+
+/**
+ * Set of long values with open addressing and linear probing.
+ *
+ * <p>The values are stored in a single long array, so an entry needs 16 bytes at most and adding a value does
+ * not create objects. The value 0 marks an empty slot and is stored in a separate flag. Removed values are
+ * closed by shifting the following entries of the probe sequence back, so the table does not fill up with
+ * deleted markers.</p>
+ */
+public class LongSet {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int size;
+    private boolean containsZero;
+
+    public LongSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize amount of values the set can hold without growing
+     */
+    public LongSet(int expectedSize) {
+        table = new long[HashTables.getCapacity(expectedSize, MIN_CAPACITY)];
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the value
+     * @return true if the value was not contained before
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int mask = table.length - 1;
+        int slot = HashTables.hash(value) & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        size++;
+        if (size * 2 > table.length) {
+            resize(table.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @param value the value
+     * @return true if the set contains the value
+     */
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        return findSlot(value) >= 0;
+    }
+
+    /**
+     * Removes a value from the set.
+     *
+     * @param value the value
+     * @return true if the value was contained
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            boolean removed = containsZero;
+            containsZero = false;
+            return removed;
+        }
+        int slot = findSlot(value);
+        if (slot < 0) {
+            return false;
+        }
+        size--;
+        int mask = table.length - 1;
+        int next = (slot + 1) & mask;
+        while (table[next] != 0) {
+            int home = HashTables.hash(table[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                table[slot] = table[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[slot] = 0;
+        return true;
+    }
+
+    /**
+     * @return the amount of values in the set
+     */
+    public int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    /**
+     * Removes all values, the capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    private int findSlot(long value) {
+        int mask = table.length - 1;
+        for (int slot = HashTables.hash(value) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            if (table[slot] == value) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldTable = table;
+        table = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : oldTable) {
+            if (value != 0) {
+                int slot = HashTables.hash(value) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ch.zhaw.pm2.racetrack.collections;
+
+import ch.zhaw.pm2.racetrack.PositionVectorHelper;
+
+/**
+ * Set of packed car states ({@link PositionVectorHelper#packState(int, int, int, int)}) for searches on a track.
+ *
+ * <p>States within the bounds of the track and the velocity bounds are stored as one bit each in a bit set of
+ * size width &times; height &times; (2 &middot; maxVelocityX + 1) &times; (2 &middot; maxVelocityY + 1).
+ * Other states are stored in a {@link LongSet}. The velocity bounds of {@link #forTrack(int, int)} are the speeds
+ * a car can reach by accelerating across the whole track, so the bit set holds almost all states of a search.
+ * If the bit set would be larger than {@link #MAX_BITS}, all states are stored in the {@link LongSet}.</p>
+ */
+public class VisitedStateSet {
+    public static final long MAX_BITS = 1L << 28;
+
+    private final int width;
+    private final int height;
+    private final int maxVelocityX;
+    private final int maxVelocityY;
+    private final long[] bits;
+    private final LongSet overflow = new LongSet();
+    private int bitCount;
+
+    /**
+     * @param width        width of the track grid
+     * @param height       height of the track grid
+     * @param maxVelocityX maximum absolute horizontal velocity stored in the bit set
+     * @param maxVelocityY maximum absolute vertical velocity stored in the bit set
+     */
+    public VisitedStateSet(int width, int height, int maxVelocityX, int maxVelocityY) {
+        long size = getBitSetSize(width, height, maxVelocityX, maxVelocityY);
+        boolean useBits = size <= MAX_BITS;
+        this.width = useBits ? width : 0;
+        this.height = useBits ? height : 0;
+        this.maxVelocityX = maxVelocityX;
+        this.maxVelocityY = maxVelocityY;
+        bits = new long[useBits ? (int) ((size + Long.SIZE - 1) / Long.SIZE) : 0];
+    }
+
+    /**
+     * Creates a set for a track with the velocity bounds derived from the size of the track.
+     *
+     * @param width  width of the track grid
+     * @param height height of the track grid
+     * @return the set
+     */
+    public static VisitedStateSet forTrack(int width, int height) {
+        return new VisitedStateSet(width, height, getMaxSpeed(width), getMaxSpeed(height));
+    }
+
+    /**
+     * Returns the highest speed a car reaches by accelerating on a straight line across the inner spaces of a
+     * track of the given length: the largest s with s * (s + 1) / 2 &lt;= length - 3.
+     *
+     * @param length width or height of the track grid
+     * @return the speed
+     */
+    public static int getMaxSpeed(int length) {
+        int speed = 0;
+        while ((long) (speed + 1) * (speed + 2) / 2 <= length - 3) {
+            speed++;
+        }
+        return speed;
+    }
+
+    /**
+     * @return the amount of bits the bit set of a set with the given bounds needs
+     */
+    public static long getBitSetSize(int width, int height, int maxVelocityX, int maxVelocityY) {
+        return (long) width * height * (2L * maxVelocityX + 1) * (2L * maxVelocityY + 1);
+    }
+
+    /**
+     * Adds a state.
+     *
+     * @param state the packed state
+     * @return true if the state was not contained before
+     */
+    public boolean add(long state) {
+        long bit = getBit(state);
+        if (bit < 0) {
+            return overflow.add(state);
+        }
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        if ((bits[word] & mask) != 0) {
+            return false;
+        }
+        bits[word] |= mask;
+        bitCount++;
+        return true;
+    }
+
+    /**
+     * @param state the packed state
+     * @return true if the set contains the state
+     */
+    public boolean contains(long state) {
+        long bit = getBit(state);
+        if (bit < 0) {
+            return overflow.contains(state);
+        }
+        return (bits[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    /**
+     * @return the amount of states in the set
+     */
+    public int size() {
+        return bitCount + overflow.size();
+    }
+
+    private long getBit(long state) {
+        int x = PositionVectorHelper.getStateX(state);
+        int y = PositionVectorHelper.getStateY(state);
+        int velocityX = PositionVectorHelper.getStateVelocityX(state) + maxVelocityX;
+        int velocityY = PositionVectorHelper.getStateVelocityY(state) + maxVelocityY;
+        int velocityRangeX = 2 * maxVelocityX + 1;
+        int velocityRangeY = 2 * maxVelocityY + 1;
+        if (x < 0 || x >= width || y < 0 || y >= height || velocityX < 0 || velocityX >= velocityRangeX
+            || velocityY < 0 || velocityY >= velocityRangeY) {
+            return -1;
+        }
+        return (((long) y * width + x) * velocityRangeX + velocityX) * velocityRangeY + velocityY;
+    }
+}
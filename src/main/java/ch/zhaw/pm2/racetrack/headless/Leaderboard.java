@@ -0,0 +1,114 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated results of a {@link Tournament} per strategy.
+ * Every car taking part in a race counts as one entry of its strategy.
+ */
+public class Leaderboard {
+
+    /**
+     * Results of one strategy.
+     */
+    public static class Entry {
+        private final Config.StrategyType strategyType;
+        private int entries;
+        private int wins;
+        private long winningTurns;
+
+        private Entry(Config.StrategyType strategyType) {
+            this.strategyType = strategyType;
+        }
+
+        public Config.StrategyType getStrategyType() {
+            return strategyType;
+        }
+
+        public int getEntries() {
+            return entries;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        /**
+         * @return share of entries which won their race (0 to 1)
+         */
+        public double getWinRate() {
+            return (entries == 0) ? 0 : (double) wins / entries;
+        }
+
+        /**
+         * @return average amount of turns of the races won by this strategy, 0 if it never won
+         */
+        public double getAverageTurns() {
+            return (wins == 0) ? 0 : (double) winningTurns / wins;
+        }
+    }
+
+    private final Map<Config.StrategyType, Entry> entries = new EnumMap<>(Config.StrategyType.class);
+    private int races;
+    private int failedRaces;
+
+    /**
+     * Adds the result of a race to the leaderboard.
+     *
+     * @param race a race which has been run
+     */
+    public void add(TournamentRace race) {
+        races++;
+        RaceResult result = race.getResult();
+        if (result == null) {
+            failedRaces++;
+            return;
+        }
+        List<Config.StrategyType> strategyTypes = race.getStrategyTypes();
+        for (int carIndex = 0; carIndex < strategyTypes.size(); carIndex++) {
+            Entry entry = entries.computeIfAbsent(strategyTypes.get(carIndex), Entry::new);
+            entry.entries++;
+            if (result.getWinner() == carIndex) {
+                entry.wins++;
+                entry.winningTurns += result.getTurns();
+            }
+        }
+    }
+
+    /**
+     * @return the entries ordered by win rate (best first)
+     */
+    public List<Entry> getEntries() {
+        List<Entry> ranking = new ArrayList<>(entries.values());
+        ranking.sort(Comparator.comparingDouble(Entry::getWinRate).reversed()
+            .thenComparingDouble(Entry::getAverageTurns));
+        return ranking;
+    }
+
+    public int getRaces() {
+        return races;
+    }
+
+    public int getFailedRaces() {
+        return failedRaces;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-4s %-16s %8s %6s %9s %9s%n", "Rank", "Strategy", "Entries", "Wins", "Win rate", "Avg turns"));
+        int rank = 1;
+        for (Entry entry : getEntries()) {
+            table.append(String.format("%-4d %-16s %8d %6d %8.1f%% %9.1f%n", rank++, entry.getStrategyType(),
+                entry.getEntries(), entry.getWins(), entry.getWinRate() * 100, entry.getAverageTurns()));
+        }
+        table.append(String.format("%d races, %d failed", races, failedRaces));
+        return table.toString();
+    }
+}
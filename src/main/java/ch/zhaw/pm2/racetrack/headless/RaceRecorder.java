@@ -0,0 +1,48 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Config;
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.GameListener;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.strategy.PackedMoveWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the turns of a game as {@link RaceRecording}.
+ *
+ * <p>The recorder is registered as {@link GameListener} on the game and stores the acceleration of every turn.
+ * Track and strategies are taken from the game when the recorder is created, so it must be created after the
+ * strategies have been set and before the first turn.</p>
+ */
+public class RaceRecorder implements GameListener {
+    private final long trackHash;
+    private final List<Config.StrategyType> strategyTypes = new ArrayList<>();
+    private final PackedMoveWriter moves = new PackedMoveWriter();
+
+    /**
+     * Creates a recorder and registers it on the given game.
+     *
+     * @param game the game to record, with track and strategies set
+     */
+    public RaceRecorder(Game game) {
+        trackHash = game.getTrack().getContentHash();
+        for (int carIndex = 0; carIndex < game.getTrack().getCarCount(); carIndex++) {
+            strategyTypes.add(game.getStrategy(carIndex));
+        }
+        game.addListener(this);
+    }
+
+    @Override
+    public void onTurnEnd(int carIndex, Direction acceleration) {
+        moves.add(acceleration);
+    }
+
+    /**
+     * @return the recording of all turns so far
+     */
+    public RaceRecording getRecording() {
+        return new RaceRecording(trackHash, strategyTypes, moves.toByteArray());
+    }
+}
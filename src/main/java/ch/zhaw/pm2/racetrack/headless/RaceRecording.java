@@ -0,0 +1,131 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Config;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.strategy.PackedMoveList;
+import ch.zhaw.pm2.racetrack.strategy.PackedMoveReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Log of a race, from which the race can be replayed exactly ({@link RaceReplayer}).
+ *
+ * <p>The game is deterministic: the cars take turns in a fixed order and every turn only depends on the
+ * acceleration of the car. The log therefore only holds the track, the strategy of every car and the accelerations
+ * of all turns in the order they were done. The file has the following layout (big endian):
+ * <ul>
+ *   <li>int: magic number {@link #MAGIC}</li>
+ *   <li>long: content hash of the track file ({@link ch.zhaw.pm2.racetrack.Track#getContentHash()})</li>
+ *   <li>int: amount of cars</li>
+ *   <li>one byte per car: ordinal of its {@link Config.StrategyType}, -1 if none was set</li>
+ *   <li>the accelerations of all turns as {@link PackedMoveList}</li>
+ * </ul>
+ * </p>
+ */
+public class RaceRecording {
+    public static final int MAGIC = 0x52545231;
+    public static final String FILE_EXTENSION = ".rtr";
+
+    private static final Config.StrategyType[] STRATEGY_TYPES = Config.StrategyType.values();
+
+    private final long trackHash;
+    private final List<Config.StrategyType> strategyTypes;
+    private final byte[] moves;
+
+    /**
+     * @param trackHash     content hash of the track file
+     * @param strategyTypes strategy of every car, null for a car without strategy
+     * @param moves         the accelerations of all turns as {@link PackedMoveList}
+     */
+    public RaceRecording(long trackHash, List<Config.StrategyType> strategyTypes, byte[] moves) {
+        this.trackHash = trackHash;
+        this.strategyTypes = Collections.unmodifiableList(new ArrayList<>(strategyTypes));
+        this.moves = moves.clone();
+    }
+
+    /**
+     * Reads a recording from a file.
+     *
+     * @param file the recording file
+     * @return the recording
+     * @throws IOException if the file could not be read or is not a recording
+     */
+    public static RaceRecording read(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("File " + file + " is not a race recording.");
+            }
+            long trackHash = input.readLong();
+            int carCount = input.readInt();
+            List<Config.StrategyType> strategyTypes = new ArrayList<>();
+            for (int carIndex = 0; carIndex < carCount; carIndex++) {
+                int ordinal = input.readByte();
+                if (ordinal < -1 || ordinal >= STRATEGY_TYPES.length) {
+                    throw new IOException("File " + file + " contains the unknown strategy type " + ordinal
+                        + " for car " + carIndex + ".");
+                }
+                strategyTypes.add(ordinal < 0 ? null : STRATEGY_TYPES[ordinal]);
+            }
+            return new RaceRecording(trackHash, strategyTypes, input.readAllBytes());
+        }
+    }
+
+    /**
+     * Writes the recording to a file.
+     *
+     * @param file the file to write
+     * @throws IOException if the file could not be written
+     */
+    public void write(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeLong(trackHash);
+            output.writeInt(strategyTypes.size());
+            for (Config.StrategyType strategyType : strategyTypes) {
+                output.writeByte(strategyType == null ? -1 : strategyType.ordinal());
+            }
+            output.write(moves);
+        }
+    }
+
+    public long getTrackHash() {
+        return trackHash;
+    }
+
+    public List<Config.StrategyType> getStrategyTypes() {
+        return strategyTypes;
+    }
+
+    /**
+     * @return the amount of recorded turns
+     */
+    public int getTurnCount() {
+        return ByteBuffer.wrap(moves).getInt(Integer.BYTES);
+    }
+
+    /**
+     * Decodes the accelerations of all turns.
+     *
+     * @return the ordinal of the {@link Direction} of every turn
+     * @throws IllegalStateException if the moves are damaged
+     */
+    public byte[] decodeMoves() {
+        PackedMoveReader reader = new PackedMoveReader(ByteBuffer.wrap(moves));
+        byte[] directions = new byte[reader.getRemainingMoves()];
+        for (int turn = 0; turn < directions.length; turn++) {
+            directions[turn] = (byte) reader.next().ordinal();
+        }
+        return directions;
+    }
+}
@@ -0,0 +1,151 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Car;
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.strategy.NoMovement;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a {@link RaceRecording} without terminal, as fast as {@link Game#doCarTurn(Direction)} allows.
+ *
+ * <p>The replayer executes the recorded accelerations turn by turn on a new game of the recorded track. The
+ * strategies of the cars are not run, the cars only get the recorded strategy types. Every
+ * {@link #CHECKPOINT_INTERVAL} turns a snapshot of the game ({@link Game#createSnapshot()}) is stored, so
+ * {@link #seek(int)} jumps to any turn by restoring the last checkpoint before it and replaying at most
+ * {@link #CHECKPOINT_INTERVAL} - 1 turns, also backwards.</p>
+ *
+ * <p>Usage from the command line, prints the state of the race after the given turn (default: the last turn):</p>
+ * <pre>
+ *     RaceReplayer &lt;track file&gt; &lt;recording file&gt; [turn]
+ * </pre>
+ */
+public class RaceReplayer {
+    public static final int CHECKPOINT_INTERVAL = 256;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Game game;
+    private final byte[] directions;
+    // checkpoint i is the state before turn i * CHECKPOINT_INTERVAL
+    private final List<long[]> checkpoints = new ArrayList<>();
+    private int turn;
+
+    /**
+     * Loads the track and prepares the replay at turn 0.
+     *
+     * @param trackFile the track file the race was recorded on
+     * @param recording the recording
+     * @throws FileNotFoundException       if the track file could not be found
+     * @throws InvalidTrackFormatException if the track file contains invalid data
+     * @throws IllegalArgumentException    if the track file is not the recorded track
+     */
+    public RaceReplayer(File trackFile, RaceRecording recording)
+        throws FileNotFoundException, InvalidTrackFormatException {
+        Track track = new Track(trackFile);
+        if (track.getContentHash() != recording.getTrackHash()
+            || track.getCarCount() != recording.getStrategyTypes().size()) {
+            throw new IllegalArgumentException("The recording was not made on track " + trackFile + ".");
+        }
+        game = new Game();
+        game.setTrack(track);
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            game.setMoveStrategy(carIndex, recording.getStrategyTypes().get(carIndex), new NoMovement());
+        }
+        directions = recording.decodeMoves();
+        checkpoints.add(game.createSnapshot());
+    }
+
+    /**
+     * @return the replayed game, in the state after {@link #getTurn()} turns
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * @return the amount of turns replayed on the game
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return the amount of recorded turns
+     */
+    public int getTurnCount() {
+        return directions.length;
+    }
+
+    /**
+     * Brings the game into the state after the given amount of turns.
+     *
+     * @param targetTurn the amount of turns, 0 for the start of the race
+     * @throws IllegalArgumentException if the turn is not between 0 and {@link #getTurnCount()}
+     */
+    public void seek(int targetTurn) {
+        if (targetTurn < 0 || targetTurn > directions.length) {
+            throw new IllegalArgumentException("Turn " + targetTurn + " is not between 0 and "
+                + directions.length + ".");
+        }
+        int checkpoint = Math.min(targetTurn / CHECKPOINT_INTERVAL, checkpoints.size() - 1);
+        if (targetTurn < turn || checkpoint * CHECKPOINT_INTERVAL > turn) {
+            game.restoreSnapshot(checkpoints.get(checkpoint));
+            turn = checkpoint * CHECKPOINT_INTERVAL;
+        }
+        while (turn < targetTurn) {
+            replayTurn();
+        }
+    }
+
+    /**
+     * Replays all remaining turns.
+     */
+    public void replayAll() {
+        seek(directions.length);
+    }
+
+    private void replayTurn() {
+        game.doCarTurn(DIRECTIONS[directions[turn]]);
+        game.switchToNextActiveCar();
+        turn++;
+        if (turn % CHECKPOINT_INTERVAL == 0 && turn / CHECKPOINT_INTERVAL == checkpoints.size()) {
+            checkpoints.add(game.createSnapshot());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: RaceReplayer <track file> <recording file> [turn]");
+            System.exit(2);
+        }
+        try {
+            RaceReplayer replayer = new RaceReplayer(new File(args[0]), RaceRecording.read(new File(args[1])));
+            long start = System.nanoTime();
+            replayer.seek(args.length == 3 ? Integer.parseInt(args[2]) : replayer.getTurnCount());
+            long micros = (System.nanoTime() - start) / 1000;
+            Game game = replayer.getGame();
+            System.out.println("turn " + replayer.getTurn() + " of " + replayer.getTurnCount() + ", replayed in "
+                + micros + " us, winner " + (game.getWinner() == Game.NO_WINNER ? "none"
+                : game.getCarId(game.getWinner()) + " (car " + game.getWinner() + ")"));
+            for (int carIndex = 0; carIndex < game.getTrack().getCarCount(); carIndex++) {
+                Car car = game.getTrack().getCar(carIndex);
+                System.out.println("car " + car.getName() + ": position " + car.getPosition() + ", velocity "
+                    + car.getVelocity() + (car.isCrashed() ? ", crashed" : ""));
+            }
+        } catch (IOException | InvalidTrackFormatException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+}
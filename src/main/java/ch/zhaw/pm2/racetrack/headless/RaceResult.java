@@ -0,0 +1,71 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Game;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a race run by the {@link RaceRunner}.
+ */
+public class RaceResult {
+
+    /**
+     * Reason why a race has ended.
+     */
+    public enum Outcome {
+        WINNER, NO_MOVABLE_CAR, TURN_LIMIT
+    }
+
+    private final Outcome outcome;
+    private final int winner;
+    private final char winnerId;
+    private final int turns;
+    private final List<Integer> crashedCars;
+
+    public RaceResult(Outcome outcome, int winner, char winnerId, int turns, List<Integer> crashedCars) {
+        this.outcome = outcome;
+        this.winner = winner;
+        this.winnerId = winnerId;
+        this.turns = turns;
+        this.crashedCars = Collections.unmodifiableList(crashedCars);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return the zero-based index of the winning car or {@link Game#NO_WINNER}
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return the id of the winning car, only valid if there is a winner
+     */
+    public char getWinnerId() {
+        return winnerId;
+    }
+
+    /**
+     * @return the amount of executed car turns
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return the indexes of the crashed cars in the order they crashed
+     */
+    public List<Integer> getCrashedCars() {
+        return crashedCars;
+    }
+
+    @Override
+    public String toString() {
+        String result = (outcome == Outcome.WINNER) ? "winner " + winnerId + " (car " + winner + ")" : outcome.toString();
+        return result + ", turns " + turns + ", crashed cars " + crashedCars;
+    }
+}
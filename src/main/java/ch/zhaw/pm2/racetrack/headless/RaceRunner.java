@@ -0,0 +1,178 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Car;
+import ch.zhaw.pm2.racetrack.Config;
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.GameListener;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.strategy.MonteCarloSolver;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs races between automated cars without any terminal input or output.
+ *
+ * <p>The runner executes {@link Game#doCarTurn(ch.zhaw.pm2.racetrack.PositionVector.Direction)} and
+ * {@link Game#switchToNextActiveCar()} in a loop until a car has won, no car is able to move anymore or the
+ * turn limit is reached. The track is never rendered.</p>
+ *
+ * <p>Usage from the command line:</p>
+ * <pre>
+ *     RaceRunner [--record &lt;recording file&gt;] &lt;track file&gt; &lt;turn limit&gt; &lt;strategy of car 1&gt; ...
+ *     &lt;strategy of car n&gt;
+ * </pre>
+ * <p>With {@code --record} the race is written to a {@link RaceRecording}, which {@link RaceReplayer} replays.
+ * For every car driven by a {@link MonteCarloSolver} the amount of rollouts and the simulated moves per second
+ * are printed after the result.</p>
+ *
+ * @see RaceResult
+ */
+public class RaceRunner {
+
+    /**
+     * Loads the given track and runs a race with the given strategies.
+     *
+     * @param trackFile     the track file
+     * @param strategyTypes one strategy per car on the track, {@link Config.StrategyType#USER} is not allowed
+     * @param turnLimit     maximum amount of car turns
+     * @return the result of the race
+     * @throws FileNotFoundException       if the track file could not be found
+     * @throws InvalidTrackFormatException if the track file contains invalid data
+     */
+    public static RaceResult run(File trackFile, List<Config.StrategyType> strategyTypes, int turnLimit)
+        throws FileNotFoundException, InvalidTrackFormatException {
+        return run(createGame(trackFile, strategyTypes), turnLimit);
+    }
+
+    /**
+     * Loads the given track and creates a game with the given strategies.
+     *
+     * @param trackFile     the track file
+     * @param strategyTypes one strategy per car on the track, {@link Config.StrategyType#USER} is not allowed
+     * @return the game, ready for the first turn
+     * @throws FileNotFoundException       if the track file could not be found
+     * @throws InvalidTrackFormatException if the track file contains invalid data
+     */
+    public static Game createGame(File trackFile, List<Config.StrategyType> strategyTypes)
+        throws FileNotFoundException, InvalidTrackFormatException {
+        Game game = new Game();
+        // races may run in parallel (tournament), every search uses the thread of its race only
+        game.setSearchWorkerCount(1);
+        game.setTrack(new Track(trackFile));
+        if (strategyTypes.size() != game.getTrack().getCarCount()) {
+            throw new IllegalArgumentException("The track has " + game.getTrack().getCarCount() + " cars, but "
+                + strategyTypes.size() + " strategies were given.");
+        }
+        for (int carIndex = 0; carIndex < strategyTypes.size(); carIndex++) {
+            if (strategyTypes.get(carIndex) == Config.StrategyType.USER) {
+                throw new IllegalArgumentException("The strategy USER needs a terminal.");
+            }
+            game.setStrategy(carIndex, strategyTypes.get(carIndex), trackFile.getPath());
+        }
+        return game;
+    }
+
+    /**
+     * Runs a race on a game whose track and strategies are already set.
+     *
+     * @param game      the game to run
+     * @param turnLimit maximum amount of car turns
+     * @return the result of the race
+     */
+    public static RaceResult run(Game game, int turnLimit) {
+        Track track = game.getTrack();
+        List<Integer> crashedCars = new ArrayList<>();
+        GameListener crashListener = new GameListener() {
+            @Override
+            public void onCrash(int carIndex, int x, int y) {
+                crashedCars.add(carIndex);
+            }
+        };
+        game.addListener(crashListener);
+        int turns = 0;
+        while (game.getWinner() == Game.NO_WINNER && turns < turnLimit && game.existsMovableCar()) {
+            Car car = track.getCar(game.getCurrentCarIndex());
+            game.doCarTurn(car.nextMove());
+            turns++;
+            game.switchToNextActiveCar();
+        }
+        game.removeListener(crashListener);
+        RaceResult.Outcome outcome;
+        char winnerId = 0;
+        if (game.getWinner() != Game.NO_WINNER) {
+            outcome = RaceResult.Outcome.WINNER;
+            winnerId = game.getCarId(game.getWinner());
+        } else if (turns >= turnLimit) {
+            outcome = RaceResult.Outcome.TURN_LIMIT;
+        } else {
+            outcome = RaceResult.Outcome.NO_MOVABLE_CAR;
+        }
+        return new RaceResult(outcome, game.getWinner(), winnerId, turns, crashedCars);
+    }
+
+    public static void main(String[] args) {
+        File recordingFile = null;
+        if (args.length >= 2 && args[0].equals("--record")) {
+            recordingFile = new File(args[1]);
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        if (args.length < 3) {
+            System.err.println("Usage: RaceRunner [--record <recording file>] <track file> <turn limit> "
+                + "<strategy of car 1> ... <strategy of car n>");
+            System.exit(2);
+        }
+        try {
+            List<Config.StrategyType> strategyTypes = new ArrayList<>();
+            for (int i = 2; i < args.length; i++) {
+                strategyTypes.add(Config.StrategyType.valueOf(args[i]));
+            }
+            Game game = createGame(new File(args[0]), strategyTypes);
+            RaceRecorder recorder = recordingFile != null ? new RaceRecorder(game) : null;
+            RaceResult result = run(game, Integer.parseInt(args[1]));
+            System.out.println(result);
+            printSearchStatistics(game);
+            if (recorder != null) {
+                writeRecording(recorder.getRecording(), recordingFile);
+            }
+        } catch (FileNotFoundException e) {
+            System.err.println("Can't find file " + args[0]);
+            System.exit(1);
+        } catch (InvalidTrackFormatException e) {
+            System.err.println(e);
+            System.exit(1);
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    private static void printSearchStatistics(Game game) {
+        for (int carIndex = 0; carIndex < game.getTrack().getCarCount(); carIndex++) {
+            if (game.getTrack().getCar(carIndex).getMoveStrategy() instanceof MonteCarloSolver) {
+                MonteCarloSolver solver = (MonteCarloSolver) game.getTrack().getCar(carIndex).getMoveStrategy();
+                System.out.printf("car %s: %d rollouts, %.0f simulated moves per second%n",
+                    game.getTrack().getCar(carIndex).getName(),
+                    solver.getTotalRollouts(), solver.getSimulatedMovesPerSecond());
+            }
+        }
+    }
+
+    private static void writeRecording(RaceRecording recording, File recordingFile) {
+        try {
+            recording.write(recordingFile);
+        } catch (IOException e) {
+            System.err.println("Can't write recording " + recordingFile + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
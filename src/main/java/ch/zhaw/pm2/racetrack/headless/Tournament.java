@@ -0,0 +1,204 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Config;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.Track;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs every combination of track and strategy assignment as independent headless races in parallel.
+ *
+ * <p>Each race loads its own {@link Track} and {@link ch.zhaw.pm2.racetrack.Game}, so races share no mutable
+ * state. The races are split recursively on a {@link ForkJoinPool} and aggregated into a {@link Leaderboard}
+ * once all of them are done.</p>
+ *
+ * <p>Usage from the command line, without {@code --strategies} the {@link #DEFAULT_STRATEGY_TYPES} are raced:</p>
+ * <pre>
+ *     Tournament [--strategies &lt;strategy&gt;,&lt;strategy&gt;,...] [turn limit] [parallelism]
+ * </pre>
+ */
+public class Tournament {
+    public static final int DEFAULT_TURN_LIMIT = 1000;
+    /**
+     * Strategies raced if none are given. Only strategies which need little time per move, so the amount of races
+     * and not the strategies decides the duration of a tournament. Other strategies, like
+     * {@link Config.StrategyType#MONTE_CARLO} which searches for a time budget every move, must be given explicitly.
+     */
+    public static final List<Config.StrategyType> DEFAULT_STRATEGY_TYPES = List.of(Config.StrategyType.DO_NOT_MOVE,
+        Config.StrategyType.MOVE_LIST, Config.StrategyType.PATH_FOLLOWER, Config.StrategyType.OPTIMAL_SOLVER,
+        Config.StrategyType.A_STAR);
+    /**
+     * Maximum amount of strategy assignments raced on one track. The amount grows with strategies ^ cars, so tracks
+     * with more assignments (e.g. tracks with car slots) are skipped.
+     */
+    public static final int MAX_RACES_PER_TRACK = 10_000;
+
+    private final List<TournamentRace> races;
+    private final List<File> skippedTracks = new ArrayList<>();
+    private final int turnLimit;
+
+    /**
+     * Creates a tournament with all strategy assignments of the given strategies on all given tracks. Tracks with
+     * more than {@link #MAX_RACES_PER_TRACK} assignments are skipped ({@link #getSkippedTracks()}).
+     *
+     * @param trackFiles    the tracks to race on
+     * @param strategyTypes the strategies to combine, {@link Config.StrategyType#USER} is not allowed
+     * @param turnLimit     maximum amount of car turns per race
+     * @throws FileNotFoundException       if a track file could not be found
+     * @throws InvalidTrackFormatException if a track file contains invalid data
+     * @throws IllegalArgumentException    if the strategies contain {@link Config.StrategyType#USER}
+     */
+    public Tournament(List<File> trackFiles, List<Config.StrategyType> strategyTypes, int turnLimit)
+        throws FileNotFoundException, InvalidTrackFormatException {
+        if (strategyTypes.contains(Config.StrategyType.USER)) {
+            throw new IllegalArgumentException("Strategy " + Config.StrategyType.USER + " needs user input.");
+        }
+        this.turnLimit = turnLimit;
+        races = new ArrayList<>();
+        for (File trackFile : trackFiles) {
+            int carCount = new Track(trackFile).getCarCount();
+            if (countAssignments(strategyTypes.size(), carCount) > MAX_RACES_PER_TRACK) {
+                skippedTracks.add(trackFile);
+            } else {
+                addAssignments(trackFile, strategyTypes, new ArrayList<>(), carCount);
+            }
+        }
+    }
+
+    private static long countAssignments(int strategyCount, int carCount) {
+        long assignments = 1;
+        for (int car = 0; car < carCount && assignments <= MAX_RACES_PER_TRACK; car++) {
+            assignments *= strategyCount;
+        }
+        return assignments;
+    }
+
+    private void addAssignments(File trackFile, List<Config.StrategyType> strategyTypes,
+                                List<Config.StrategyType> assignment, int carCount) {
+        if (assignment.size() == carCount) {
+            races.add(new TournamentRace(trackFile, new ArrayList<>(assignment)));
+            return;
+        }
+        for (Config.StrategyType strategyType : strategyTypes) {
+            assignment.add(strategyType);
+            addAssignments(trackFile, strategyTypes, assignment, carCount);
+            assignment.remove(assignment.size() - 1);
+        }
+    }
+
+    /**
+     * @param strategyNames names of strategies separated by commas, e.g. "MOVE_LIST,A_STAR"
+     * @return the strategies
+     * @throws IllegalArgumentException if a name is not a strategy
+     */
+    public static List<Config.StrategyType> parseStrategyTypes(String strategyNames) {
+        List<Config.StrategyType> strategyTypes = new ArrayList<>();
+        for (String strategyName : strategyNames.split(",")) {
+            strategyTypes.add(Config.StrategyType.valueOf(strategyName.trim()));
+        }
+        return strategyTypes;
+    }
+
+    /**
+     * @param trackDirectory directory containing the track files
+     * @return the track files (*.txt) of the directory, sorted by name
+     */
+    public static List<File> getTrackFiles(File trackDirectory) {
+        File[] files = trackDirectory.listFiles((File pathname) -> pathname.getName().endsWith(".txt"));
+        List<File> trackFiles = (files == null) ? new ArrayList<>() : new ArrayList<>(Arrays.asList(files));
+        Collections.sort(trackFiles);
+        return trackFiles;
+    }
+
+    public List<TournamentRace> getRaces() {
+        return Collections.unmodifiableList(races);
+    }
+
+    /**
+     * @return the tracks which have too many strategy assignments to be raced
+     */
+    public List<File> getSkippedTracks() {
+        return Collections.unmodifiableList(skippedTracks);
+    }
+
+    /**
+     * Runs all races on the given pool and aggregates the results.
+     *
+     * @param pool the pool executing the races
+     * @return the leaderboard of the tournament
+     */
+    public Leaderboard run(ForkJoinPool pool) {
+        pool.invoke(new RaceTask(0, races.size()));
+        Leaderboard leaderboard = new Leaderboard();
+        for (TournamentRace race : races) {
+            leaderboard.add(race);
+        }
+        return leaderboard;
+    }
+
+    private class RaceTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        RaceTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                races.get(from).run(turnLimit);
+            } else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RaceTask(from, middle), new RaceTask(middle, to));
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            List<Config.StrategyType> strategyTypes = DEFAULT_STRATEGY_TYPES;
+            if (args.length >= 2 && args[0].equals("--strategies")) {
+                strategyTypes = parseStrategyTypes(args[1]);
+                args = Arrays.copyOfRange(args, 2, args.length);
+            }
+            int turnLimit = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_TURN_LIMIT;
+            int parallelism = (args.length > 1) ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+            List<File> trackFiles = getTrackFiles(new Config().getTrackDirectory());
+            Tournament tournament = new Tournament(trackFiles, strategyTypes, turnLimit);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            long start = System.nanoTime();
+            Leaderboard leaderboard = tournament.run(pool);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            pool.shutdown();
+            for (TournamentRace race : tournament.getRaces()) {
+                System.out.println(race);
+            }
+            for (File skippedTrack : tournament.getSkippedTracks()) {
+                System.out.println("Skipped " + skippedTrack + ": more than " + MAX_RACES_PER_TRACK + " races");
+            }
+            System.out.println();
+            System.out.println(leaderboard);
+            System.out.println("Finished in " + millis + " ms on " + parallelism + " threads");
+        } catch (FileNotFoundException | InvalidTrackFormatException e) {
+            System.err.println("Invalid track: " + e);
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Usage: Tournament [--strategies <strategy>,<strategy>,...] [turn limit] [parallelism]: "
+                + e.getMessage());
+            System.exit(2);
+        }
+    }
+}
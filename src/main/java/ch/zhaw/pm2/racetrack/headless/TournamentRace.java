@@ -0,0 +1,63 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Config;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single race of a {@link Tournament}: a track with one strategy per car and, after the race has been run,
+ * its result or the reason why it could not be run.
+ */
+public class TournamentRace {
+    private final File trackFile;
+    private final List<Config.StrategyType> strategyTypes;
+    private RaceResult result;
+    private String error;
+
+    public TournamentRace(File trackFile, List<Config.StrategyType> strategyTypes) {
+        this.trackFile = trackFile;
+        this.strategyTypes = Collections.unmodifiableList(strategyTypes);
+    }
+
+    /**
+     * Runs the race. Failures (e.g. missing move files) are stored as error of this race.
+     *
+     * @param turnLimit maximum amount of car turns
+     */
+    public void run(int turnLimit) {
+        try {
+            result = RaceRunner.run(trackFile, strategyTypes, turnLimit);
+        } catch (Exception e) {
+            error = e.toString();
+        }
+    }
+
+    public File getTrackFile() {
+        return trackFile;
+    }
+
+    public List<Config.StrategyType> getStrategyTypes() {
+        return strategyTypes;
+    }
+
+    /**
+     * @return the result of the race or null if the race has not been run or failed
+     */
+    public RaceResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return the reason why the race failed or null
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return trackFile.getName() + " " + strategyTypes + ": " + ((error != null) ? "failed - " + error : result);
+    }
+}
@@ -0,0 +1,24 @@
+package ch.zhaw.pm2.racetrack.render;
+
+/**
+ * ANSI escape sequences used by the renderers.
+ */
+final class Ansi {
+    static final String CURSOR_HOME = "\u001B[H";
+    static final String CLEAR_SCREEN = "\u001B[2J";
+    static final String CLEAR_BELOW = "\u001B[J";
+
+    private Ansi() {
+    }
+
+    /**
+     * Appends the sequence which moves the cursor to the given position.
+     *
+     * @param output the output to append to
+     * @param row    zero-based row on the terminal
+     * @param column zero-based column on the terminal
+     */
+    static void moveCursor(StringBuilder output, int row, int column) {
+        output.append("\u001B[").append(row + 1).append(';').append(column + 1).append('H');
+    }
+}
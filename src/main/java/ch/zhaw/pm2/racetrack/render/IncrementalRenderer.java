@@ -0,0 +1,154 @@
+package ch.zhaw.pm2.racetrack.render;
+
+import ch.zhaw.pm2.racetrack.CarOccupancy;
+import ch.zhaw.pm2.racetrack.Track;
+
+/**
+ * Renders a {@link Track} on an ANSI terminal and only writes the spaces which changed since the last frame.
+ *
+ * <p>The renderer keeps a frame buffer with the characters currently shown on the terminal. The terrain of a track
+ * never changes, so between two frames only the spaces of the cars can change: the spaces the cars were drawn on
+ * in the last frame and the spaces they occupy now. These spaces are compared with the frame buffer and only the
+ * differing ones are written, each with a cursor positioning sequence. A turn usually writes the old and the new
+ * space of one car instead of the whole track.</p>
+ * <p>The whole track is drawn on the first frame, after {@link #invalidate()}, when the size of the track changes
+ * and when the positioned writes would be longer than the whole track. The track is drawn in the top left corner
+ * of the terminal. After every frame the cursor is placed on the line below the track and the lines below are
+ * cleared, so text printed between the frames does not move the track.</p>
+ */
+public class IncrementalRenderer {
+    // length of a cursor positioning sequence plus the character, used to decide when a full redraw is cheaper
+    private static final int CELL_COST = 10;
+
+    private final StringBuilder output = new StringBuilder();
+    private char[] frame;
+    private int width;
+    private int height;
+    private int[] drawnCarCells = new int[0];
+    private int drawnCarCount;
+    private int[] dirtyCells = new int[0];
+    private int dirtyCount;
+    private boolean lastFrameFull;
+
+    /**
+     * Creates the output which updates the terminal to the current state of the track.
+     *
+     * @param track the track to render
+     * @return the characters and escape sequences to print
+     */
+    public String render(Track track) {
+        return render(TrackSnapshot.of(track, 0));
+    }
+
+    /**
+     * Creates the output which updates the terminal to the state of the given snapshot.
+     *
+     * @param track the snapshot of the track to render
+     * @return the characters and escape sequences to print
+     */
+    public String render(TrackSnapshot track) {
+        output.setLength(0);
+        if (frame == null || width != track.getWidth() || height != track.getHeight()) {
+            renderFull(track);
+        } else {
+            collectDirtyCells(track);
+            if (dirtyCount * CELL_COST > (width + 1) * height) {
+                renderFull(track);
+            } else {
+                renderDirtyCells();
+            }
+        }
+        rememberCarCells(track);
+        Ansi.moveCursor(output, height, 0);
+        output.append(Ansi.CLEAR_BELOW);
+        return output.toString();
+    }
+
+    /**
+     * Forgets the content of the terminal, e.g. after it has been cleared. The next frame draws the whole track.
+     */
+    public void invalidate() {
+        frame = null;
+    }
+
+    /**
+     * @return true if the last frame has drawn the whole track
+     */
+    public boolean isLastFrameFull() {
+        return lastFrameFull;
+    }
+
+    /**
+     * @return the amount of spaces written by the last frame
+     */
+    public int getLastFrameCellCount() {
+        return lastFrameFull ? width * height : dirtyCount;
+    }
+
+    private void renderFull(TrackSnapshot track) {
+        width = track.getWidth();
+        height = track.getHeight();
+        frame = new char[width * height];
+        output.append(Ansi.CURSOR_HOME).append(Ansi.CLEAR_SCREEN);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                frame[y * width + x] = track.getCharacter(x, y);
+            }
+            Ansi.moveCursor(output, y, 0);
+            output.append(frame, y * width, width);
+        }
+        drawnCarCount = 0;
+        lastFrameFull = true;
+    }
+
+    private void collectDirtyCells(TrackSnapshot track) {
+        dirtyCount = 0;
+        if (dirtyCells.length < drawnCarCount + track.getCarCount()) {
+            dirtyCells = new int[drawnCarCount + track.getCarCount()];
+        }
+        for (int index = 0; index < drawnCarCount; index++) {
+            markIfChanged(track, drawnCarCells[index]);
+        }
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            int cell = track.getCarCell(carIndex);
+            if (cell != CarOccupancy.FREE) {
+                markIfChanged(track, cell);
+            }
+        }
+    }
+
+    private void markIfChanged(TrackSnapshot track, int cell) {
+        char character = track.getCharacter(cell % width, cell / width);
+        if (frame[cell] != character) {
+            frame[cell] = character;
+            dirtyCells[dirtyCount++] = cell;
+        }
+    }
+
+    private void renderDirtyCells() {
+        int cursorCell = -1;
+        for (int index = 0; index < dirtyCount; index++) {
+            int cell = dirtyCells[index];
+            if (cell != cursorCell) {
+                Ansi.moveCursor(output, cell / width, cell % width);
+            }
+            output.append(frame[cell]);
+            // the cursor stays behind the written character, the next space of the same line needs no positioning
+            cursorCell = (cell + 1) % width == 0 ? -1 : cell + 1;
+        }
+        lastFrameFull = false;
+    }
+
+    private void rememberCarCells(TrackSnapshot track) {
+        if (drawnCarCells.length < track.getCarCount()) {
+            drawnCarCells = new int[track.getCarCount()];
+        }
+        drawnCarCount = 0;
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            int cell = track.getCarCell(carIndex);
+            if (cell != CarOccupancy.FREE) {
+                drawnCarCells[drawnCarCount++] = cell;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ch.zhaw.pm2.racetrack.render;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Displays {@link TrackSnapshot}s on a dedicated thread, so the game loop does not wait for the terminal.
+ *
+ * <p>The game loop hands snapshots over with {@link #submit(TrackSnapshot)}, which never blocks: the snapshots
+ * are kept in a bounded queue and if the queue is full, the oldest snapshot is dropped. The render thread displays
+ * at most the target amount of frames per second. Before a frame it takes the newest snapshot and drops the older
+ * ones (coalescing), so a fast simulation skips intermediate frames instead of falling behind. The newest
+ * snapshot is never dropped, so the display always ends on the last submitted state.</p>
+ * <p>Output of other threads to the same terminal must wait for {@link #awaitFrames()}, otherwise it is mixed with
+ * the output of a frame.</p>
+ */
+public class RenderThread implements AutoCloseable {
+    public static final int QUEUE_CAPACITY = 4;
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final Consumer<TrackSnapshot> display;
+    private final long frameIntervalNanos;
+    private final BlockingQueue<Frame> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Object monitor = new Object();
+    private final Thread thread;
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile long shownFrames;
+    private long submittedSequence;
+    private long shownSequence;
+
+    /**
+     * Creates and starts the render thread.
+     *
+     * @param display               displays a snapshot, called on the render thread only
+     * @param targetFramesPerSecond maximum amount of frames displayed per second
+     * @throws IllegalArgumentException if the frame rate is not positive
+     */
+    public RenderThread(Consumer<TrackSnapshot> display, int targetFramesPerSecond) {
+        if (targetFramesPerSecond <= 0) {
+            throw new IllegalArgumentException("The target frame rate must be positive.");
+        }
+        this.display = display;
+        frameIntervalNanos = TimeUnit.SECONDS.toNanos(1) / targetFramesPerSecond;
+        thread = new Thread(this::renderLoop, "racetrack-render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Hands a snapshot over to the render thread. Returns immediately, older snapshots may be dropped.
+     * Snapshots must be submitted by one thread, the game loop.
+     *
+     * @param snapshot the snapshot to display
+     */
+    public void submit(TrackSnapshot snapshot) {
+        Frame frame;
+        synchronized (monitor) {
+            frame = new Frame(snapshot, ++submittedSequence);
+        }
+        while (!queue.offer(frame)) {
+            if (queue.poll() != null) {
+                droppedFrames.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Waits until the last submitted snapshot has been displayed.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void awaitFrames() throws InterruptedException {
+        synchronized (monitor) {
+            while (shownSequence < submittedSequence && thread.isAlive()) {
+                monitor.wait(POLL_TIMEOUT_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * @return the amount of frames displayed so far
+     */
+    public long getShownFrames() {
+        return shownFrames;
+    }
+
+    /**
+     * @return the amount of snapshots dropped without being displayed
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Displays the last submitted snapshot and stops the render thread. If the calling thread is interrupted while
+     * waiting for the render thread, it returns without waiting any longer and keeps the interrupt status.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void renderLoop() {
+        long nextFrameTime = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            Frame frame;
+            try {
+                frame = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (frame == null) {
+                continue;
+            }
+            for (Frame newer = queue.poll(); newer != null; newer = queue.poll()) {
+                droppedFrames.incrementAndGet();
+                frame = newer;
+            }
+            try {
+                display.accept(frame.snapshot);
+                shownFrames++;
+            } finally {
+                synchronized (monitor) {
+                    shownSequence = frame.sequence;
+                    monitor.notifyAll();
+                }
+            }
+            nextFrameTime = Math.max(nextFrameTime + frameIntervalNanos, System.nanoTime());
+            sleepUntil(nextFrameTime);
+        }
+    }
+
+    private void sleepUntil(long time) {
+        long remaining = time - System.nanoTime();
+        if (remaining > 0 && running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final TrackSnapshot snapshot;
+        private final long sequence;
+
+        Frame(TrackSnapshot snapshot, long sequence) {
+            this.snapshot = snapshot;
+            this.sequence = sequence;
+        }
+    }
+}
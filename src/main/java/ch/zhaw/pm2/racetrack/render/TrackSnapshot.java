@@ -0,0 +1,142 @@
+package ch.zhaw.pm2.racetrack.render;
+
+import ch.zhaw.pm2.racetrack.Car;
+import ch.zhaw.pm2.racetrack.CarOccupancy;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.collections.IntIntMap;
+
+/**
+ * Immutable state of a {@link Track} at one moment, as needed to render it.
+ *
+ * <p>The snapshot copies the spaces and ids of the cars and the position of the car a viewport is centered on.
+ * The terrain is not copied: it is read from the track, whose terrain never changes after initialization. A
+ * snapshot can therefore be taken in constant time per car and rendered on another thread while the game goes
+ * on.</p>
+ */
+public final class TrackSnapshot {
+    private final Track terrain;
+    private final int width;
+    private final int height;
+    private final char[] carIds;
+    private final int[] carCells;
+    private final IntIntMap cellCars;
+    private final int focusX;
+    private final int focusY;
+
+    private TrackSnapshot(Track track, int focusCarIndex) {
+        terrain = track;
+        width = track.getWidth();
+        height = track.getHeight();
+        int carCount = track.getCarCount();
+        carIds = new char[carCount];
+        carCells = new int[carCount];
+        cellCars = new IntIntMap(CarOccupancy.FREE, carCount);
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            carIds[carIndex] = track.getCarId(carIndex);
+            carCells[carIndex] = track.getCarCell(carIndex);
+            if (carCells[carIndex] != CarOccupancy.FREE) {
+                cellCars.put(carCells[carIndex], carIndex);
+            }
+        }
+        Car focusCar = track.getCar(focusCarIndex);
+        focusX = focusCar.getPositionX();
+        focusY = focusCar.getPositionY();
+    }
+
+    /**
+     * Takes a snapshot of the given track.
+     *
+     * @param track         the track
+     * @param focusCarIndex the zero-based index of the car a viewport is centered on
+     * @return the snapshot
+     */
+    public static TrackSnapshot of(Track track, int focusCarIndex) {
+        return new TrackSnapshot(track, focusCarIndex);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getCarCount() {
+        return carIds.length;
+    }
+
+    public char getCarId(int carIndex) {
+        return carIds[carIndex];
+    }
+
+    /**
+     * @param carIndex the zero-based car index
+     * @return the index of the space of the car on the track grid or {@link CarOccupancy#FREE}
+     */
+    public int getCarCell(int carIndex) {
+        return carCells[carIndex];
+    }
+
+    /**
+     * @return horizontal coordinate of the car a viewport is centered on
+     */
+    public int getFocusX() {
+        return focusX;
+    }
+
+    /**
+     * @return vertical coordinate of the car a viewport is centered on
+     */
+    public int getFocusY() {
+        return focusY;
+    }
+
+    /**
+     * Returns the character of the space at the given coordinates in the text representation of the track.
+     *
+     * @param x horizontal coordinate on the grid
+     * @param y vertical coordinate on the grid
+     * @return the id of the car on the space or the character of the terrain
+     */
+    public char getCharacter(int x, int y) {
+        int carIndex = cellCars.get(y * width + x);
+        return carIndex != CarOccupancy.FREE ? carIds[carIndex] : getTerrainCharacter(x, y);
+    }
+
+    /**
+     * @param x horizontal coordinate on the grid
+     * @param y vertical coordinate on the grid
+     * @return the character of the terrain at the given coordinates, ignoring cars
+     */
+    public char getTerrainCharacter(int x, int y) {
+        return terrain.getTerrainType(x, y).getChar();
+    }
+
+    /**
+     * Returns the text representation of the track, in the format of {@link Track#toString()}.
+     *
+     * @return the lines of the track
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder((width + 1) * height);
+        for (int y = 0; y < height; y++) {
+            if (y > 0) {
+                text.append('\n');
+            }
+            for (int x = 0; x < width; x++) {
+                text.append(getCharacter(x, y));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * @param other another snapshot
+     * @return true if both snapshots were taken of the same track, so they share the terrain
+     */
+    boolean hasSameTerrain(TrackSnapshot other) {
+        return other != null && terrain == other.terrain;
+    }
+}
@@ -0,0 +1,273 @@
+package ch.zhaw.pm2.racetrack.render;
+
+import ch.zhaw.pm2.racetrack.CarOccupancy;
+import ch.zhaw.pm2.racetrack.Config;
+import ch.zhaw.pm2.racetrack.Track;
+
+import java.util.Arrays;
+
+/**
+ * Renders a window of a {@link Track} centered on one car, for tracks which are larger than the terminal.
+ *
+ * <p>The window (viewport) is at most {@code columns} &times; {@code rows} spaces large and follows the given car.
+ * At the borders of the track it stops, so it never shows spaces outside of the track. Optionally a minimap of the
+ * whole track is shown right of the viewport: every character of the minimap stands for a block of spaces and
+ * shows a car of the block, a finish line of the block, or otherwise the terrain most of the block consists of.
+ * The terrain of the minimap is calculated once per track, a frame only adds the cars.</p>
+ * <p>A frame is composed into a screen buffer of the size of the viewport and the minimap. {@link #render(Track,
+ * int)} compares the buffer with the frame shown before and writes the changed part of every line with ANSI
+ * cursor positioning, {@link #renderText(Track, int)} returns the buffer as plain text. Both only read the
+ * spaces of the viewport and the cars, so the cost of a frame depends on the size of the terminal and not on
+ * the size of the track.</p>
+ */
+public class ViewportRenderer {
+    private static final int MINIMAP_GAP = 1;
+    private static final char WALL = Config.SpaceType.WALL.getChar();
+    private static final char TRACK = Config.SpaceType.TRACK.getChar();
+
+    private final int columns;
+    private final int rows;
+    private final int minimapColumns;
+    private final int minimapRows;
+    private final StringBuilder output = new StringBuilder();
+
+    private char[] screen = new char[0];
+    private char[] shown;
+    private int screenWidth;
+    private int screenHeight;
+    private int viewWidth;
+    private int viewHeight;
+    private int originX;
+    private int originY;
+
+    private TrackSnapshot minimapTrack;
+    private char[] minimapTerrain;
+    private int minimapWidth;
+    private int minimapHeight;
+    private int blockWidth;
+    private int blockHeight;
+
+    /**
+     * Creates a renderer without minimap.
+     *
+     * @param columns maximum width of the viewport
+     * @param rows    maximum height of the viewport
+     */
+    public ViewportRenderer(int columns, int rows) {
+        this(columns, rows, 0, 0);
+    }
+
+    /**
+     * @param columns        maximum width of the viewport
+     * @param rows           maximum height of the viewport
+     * @param minimapColumns maximum width of the minimap, 0 for no minimap
+     * @param minimapRows    maximum height of the minimap, 0 for no minimap
+     */
+    public ViewportRenderer(int columns, int rows, int minimapColumns, int minimapRows) {
+        if (columns <= 0 || rows <= 0 || minimapColumns < 0 || minimapRows < 0) {
+            throw new IllegalArgumentException("The viewport must be at least one space large.");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.minimapColumns = minimapColumns;
+        this.minimapRows = minimapRows;
+    }
+
+    /**
+     * Creates the output which updates the terminal to the viewport around the given car.
+     *
+     * @param track    the track to render
+     * @param carIndex the zero-based index of the car the viewport is centered on
+     * @return the characters and escape sequences to print
+     */
+    public String render(Track track, int carIndex) {
+        return render(TrackSnapshot.of(track, carIndex));
+    }
+
+    /**
+     * Creates the output which updates the terminal to the viewport of the given snapshot.
+     *
+     * @param track the snapshot of the track to render, the viewport is centered on its focus
+     * @return the characters and escape sequences to print
+     */
+    public String render(TrackSnapshot track) {
+        int oldWidth = screenWidth;
+        int oldHeight = screenHeight;
+        compose(track);
+        output.setLength(0);
+        if (shown == null || oldWidth != screenWidth || oldHeight != screenHeight) {
+            shown = new char[screen.length];
+            output.append(Ansi.CURSOR_HOME).append(Ansi.CLEAR_SCREEN);
+        }
+        for (int y = 0; y < screenHeight; y++) {
+            renderChangedSpan(y);
+        }
+        Ansi.moveCursor(output, screenHeight, 0);
+        output.append(Ansi.CLEAR_BELOW);
+        return output.toString();
+    }
+
+    /**
+     * Returns the viewport around the given car and the minimap as plain text, one line per row.
+     *
+     * @param track    the track to render
+     * @param carIndex the zero-based index of the car the viewport is centered on
+     * @return the text of the frame
+     */
+    public String renderText(Track track, int carIndex) {
+        return renderText(TrackSnapshot.of(track, carIndex));
+    }
+
+    /**
+     * Returns the viewport of the given snapshot and the minimap as plain text, one line per row.
+     *
+     * @param track the snapshot of the track to render, the viewport is centered on its focus
+     * @return the text of the frame
+     */
+    public String renderText(TrackSnapshot track) {
+        compose(track);
+        StringBuilder text = new StringBuilder((screenWidth + 1) * screenHeight);
+        for (int y = 0; y < screenHeight; y++) {
+            if (y > 0) {
+                text.append('\n');
+            }
+            text.append(screen, y * screenWidth, screenWidth);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Forgets the content of the terminal, e.g. after it has been cleared. The next frame draws the whole screen.
+     */
+    public void invalidate() {
+        shown = null;
+    }
+
+    /**
+     * @return horizontal coordinate of the top left space of the last rendered viewport on the track
+     */
+    public int getOriginX() {
+        return originX;
+    }
+
+    /**
+     * @return vertical coordinate of the top left space of the last rendered viewport on the track
+     */
+    public int getOriginY() {
+        return originY;
+    }
+
+    private void compose(TrackSnapshot track) {
+        viewWidth = Math.min(columns, track.getWidth());
+        viewHeight = Math.min(rows, track.getHeight());
+        boolean withMinimap = minimapColumns > 0 && minimapRows > 0;
+        if (withMinimap && !track.hasSameTerrain(minimapTrack)) {
+            createMinimapTerrain(track);
+        }
+        screenWidth = withMinimap ? viewWidth + MINIMAP_GAP + minimapWidth : viewWidth;
+        screenHeight = withMinimap ? Math.max(viewHeight, minimapHeight) : viewHeight;
+        if (screen.length != screenWidth * screenHeight) {
+            screen = new char[screenWidth * screenHeight];
+        }
+        Arrays.fill(screen, ' ');
+        originX = clamp(track.getFocusX() - viewWidth / 2, track.getWidth() - viewWidth);
+        originY = clamp(track.getFocusY() - viewHeight / 2, track.getHeight() - viewHeight);
+        composeViewport(track);
+        if (withMinimap) {
+            composeMinimap(track);
+        }
+    }
+
+    private void composeViewport(TrackSnapshot track) {
+        for (int y = 0; y < viewHeight; y++) {
+            for (int x = 0; x < viewWidth; x++) {
+                screen[y * screenWidth + x] = track.getTerrainCharacter(originX + x, originY + y);
+            }
+        }
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            int cell = track.getCarCell(carIndex);
+            if (cell == CarOccupancy.FREE) {
+                continue;
+            }
+            int x = cell % track.getWidth() - originX;
+            int y = cell / track.getWidth() - originY;
+            if (x >= 0 && x < viewWidth && y >= 0 && y < viewHeight) {
+                screen[y * screenWidth + x] = track.getCarId(carIndex);
+            }
+        }
+    }
+
+    private void composeMinimap(TrackSnapshot track) {
+        int left = viewWidth + MINIMAP_GAP;
+        for (int y = 0; y < minimapHeight; y++) {
+            System.arraycopy(minimapTerrain, y * minimapWidth, screen, y * screenWidth + left, minimapWidth);
+        }
+        for (int carIndex = 0; carIndex < track.getCarCount(); carIndex++) {
+            int cell = track.getCarCell(carIndex);
+            if (cell != CarOccupancy.FREE) {
+                int x = cell % track.getWidth() / blockWidth;
+                int y = cell / track.getWidth() / blockHeight;
+                screen[y * screenWidth + left + x] = track.getCarId(carIndex);
+            }
+        }
+    }
+
+    private void createMinimapTerrain(TrackSnapshot track) {
+        blockWidth = ceilDivide(track.getWidth(), minimapColumns);
+        blockHeight = ceilDivide(track.getHeight(), minimapRows);
+        minimapWidth = ceilDivide(track.getWidth(), blockWidth);
+        minimapHeight = ceilDivide(track.getHeight(), blockHeight);
+        minimapTerrain = new char[minimapWidth * minimapHeight];
+        for (int blockY = 0; blockY < minimapHeight; blockY++) {
+            for (int blockX = 0; blockX < minimapWidth; blockX++) {
+                minimapTerrain[blockY * minimapWidth + blockX] = getBlockCharacter(track, blockX, blockY);
+            }
+        }
+        minimapTrack = track;
+    }
+
+    private char getBlockCharacter(TrackSnapshot track, int blockX, int blockY) {
+        int endX = Math.min((blockX + 1) * blockWidth, track.getWidth());
+        int endY = Math.min((blockY + 1) * blockHeight, track.getHeight());
+        int spaces = 0;
+        int trackSpaces = 0;
+        for (int y = blockY * blockHeight; y < endY; y++) {
+            for (int x = blockX * blockWidth; x < endX; x++) {
+                char character = track.getTerrainCharacter(x, y);
+                if (character != WALL && character != TRACK) {
+                    return character;
+                } else if (character == TRACK) {
+                    trackSpaces++;
+                }
+                spaces++;
+            }
+        }
+        return trackSpaces * 2 >= spaces ? TRACK : WALL;
+    }
+
+    private void renderChangedSpan(int y) {
+        int lineStart = y * screenWidth;
+        int first = 0;
+        while (first < screenWidth && screen[lineStart + first] == shown[lineStart + first]) {
+            first++;
+        }
+        if (first == screenWidth) {
+            return;
+        }
+        int last = screenWidth - 1;
+        while (screen[lineStart + last] == shown[lineStart + last]) {
+            last--;
+        }
+        Ansi.moveCursor(output, y, first);
+        output.append(screen, lineStart + first, last - first + 1);
+        System.arraycopy(screen, lineStart + first, shown, lineStart + first, last - first + 1);
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    private static int ceilDivide(int dividend, int divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
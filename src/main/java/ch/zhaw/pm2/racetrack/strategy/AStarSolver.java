@@ -0,0 +1,234 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.DistanceField;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.TurnEvaluator;
+import ch.zhaw.pm2.racetrack.collections.LongSet;
+
+import java.util.Arrays;
+
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.getStateVelocityX;
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.getStateVelocityY;
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.getStateX;
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.getStateY;
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.packState;
+
+/**
+ * Drives the car on a route to the finish line which is planned with A* within a time budget per move.
+ *
+ * <p>The search runs over the states (x, y, vx, vy) of the car with the rules of the game ({@link TurnEvaluator}).
+ * The estimated amount of turns from a state to the finish line is the minimum k for which a car starting with
+ * the speed v = max(|vx|, |vy|) and accelerating every turn covers the distance d of the {@link DistanceField}:
+ * {@code k * v + k * (k + 1) / 2 >= d}. A car moves at most one grid step per speed unit and accelerates by at
+ * most one per turn, so the estimate never overrates the remaining turns and the first route found is optimal.</p>
+ * <p>If the time budget runs out before the finish line is reached, the route to the position closest to the
+ * finish line found so far is driven. Only states from which the car can brake to a stop without crashing are
+ * used as end of such a route, so the car never drives into a state without escape. If no such state has been
+ * found yet, the car brakes. Later moves drive the remaining route without searching again; when it is used up,
+ * or the car leaves it (see {@link PlanningStrategy}), a new search is started.</p>
+ */
+public class AStarSolver extends PlanningStrategy {
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 5;
+
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+    private static final int NO_NODE = -1;
+
+    private final long timeBudgetNanos;
+    private final DistanceField distanceField;
+
+    // per search node: turns from the start and estimated total turns to the finish line
+    private int[] costs;
+    private int[] estimates;
+    private int[] heap;
+    private int heapSize;
+
+    public AStarSolver(Track track, int carIndex) {
+        this(track, carIndex, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param track            the track the car drives on
+     * @param carIndex         the zero-based index of the car
+     * @param timeBudgetMillis maximum time in milliseconds a search may take
+     */
+    public AStarSolver(Track track, int carIndex, long timeBudgetMillis) {
+        super(track, carIndex);
+        timeBudgetNanos = timeBudgetMillis * 1_000_000;
+        distanceField = track.getDistanceField();
+    }
+
+    @Override
+    protected void search(long startState) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        resetNodes(startState);
+        costs = new int[INITIAL_CAPACITY];
+        estimates = new int[INITIAL_CAPACITY];
+        heap = new int[INITIAL_CAPACITY];
+        heapSize = 0;
+        int startEstimate = estimateRemainingTurns(startState);
+        if (startEstimate < 0) {
+            return;
+        }
+        estimates[0] = startEstimate;
+        push(0);
+        LongSet expanded = new LongSet();
+        int bestNode = NO_NODE;
+        int expansions = 0;
+        while (heapSize > 0) {
+            if (++expansions % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                createPlan(bestNode != NO_NODE ? bestNode : addBrakeNode(startState));
+                return;
+            }
+            int node = pop();
+            long state = states[node];
+            if (!expanded.add(state)) {
+                continue;
+            }
+            if (node != 0 && (bestNode == NO_NODE || isCloserToFinish(node, bestNode)) && canStop(state)) {
+                bestNode = node;
+            }
+            if (expand(node, state)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds the states reachable from the given node.
+     *
+     * @return true if the finish line is reached and the plan is created
+     */
+    private boolean expand(int node, long state) {
+        int x = getStateX(state);
+        int y = getStateY(state);
+        int velocityX = getStateVelocityX(state);
+        int velocityY = getStateVelocityY(state);
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            int newVelocityX = velocityX + DIRECTIONS[direction].vector.getX();
+            int newVelocityY = velocityY + DIRECTIONS[direction].vector.getY();
+            TurnEvaluator.Outcome outcome = turnEvaluator.evaluate(carIndex, x, y, x + newVelocityX, y + newVelocityY);
+            if (outcome == TurnEvaluator.Outcome.CRASHED) {
+                continue;
+            }
+            long next = packState(turnEvaluator.getEndX(), turnEvaluator.getEndY(), newVelocityX, newVelocityY);
+            if (outcome == TurnEvaluator.Outcome.WON) {
+                createPlan(addNode(next, node, (byte) direction));
+                return true;
+            }
+            int estimate = estimateRemainingTurns(next);
+            if (estimate >= 0) {
+                int child = addNode(next, node, (byte) direction);
+                if (child == costs.length) {
+                    costs = Arrays.copyOf(costs, states.length);
+                    estimates = Arrays.copyOf(estimates, states.length);
+                }
+                costs[child] = costs[node] + 1;
+                estimates[child] = costs[child] + estimate;
+                push(child);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the minimum amount of turns from the given state to the finish line.
+     *
+     * @param state the encoded state
+     * @return the amount of turns or -1 if the finish line can not be reached from the position
+     */
+    private int estimateRemainingTurns(long state) {
+        int distance = distanceField.getDistance(getStateX(state), getStateY(state));
+        if (distance == DistanceField.UNREACHABLE) {
+            return -1;
+        }
+        long speed = Math.max(Math.abs(getStateVelocityX(state)), Math.abs(getStateVelocityY(state)));
+        // smallest k with k^2 + (2v + 1) k - 2d >= 0, corrected for rounding errors of the square root
+        long turns = (long) Math.ceil((Math.sqrt((2 * speed + 1) * (2 * speed + 1) + 8.0 * distance)
+            - (2 * speed + 1)) / 2);
+        while (turns > 0 && coveredDistance(turns - 1, speed) >= distance) {
+            turns--;
+        }
+        while (coveredDistance(turns, speed) < distance) {
+            turns++;
+        }
+        return (int) turns;
+    }
+
+    private boolean canStop(long state) {
+        return turnEvaluator.canStop(carIndex, getStateX(state), getStateY(state), getStateVelocityX(state),
+            getStateVelocityY(state));
+    }
+
+    private static long coveredDistance(long turns, long speed) {
+        return turns * speed + turns * (turns + 1) / 2;
+    }
+
+    /**
+     * Adds the state reached by braking on both axes from the start state.
+     *
+     * @return the index of the new node or of the start node if braking crashes the car
+     */
+    private int addBrakeNode(long startState) {
+        int x = getStateX(startState);
+        int y = getStateY(startState);
+        int velocityX = getStateVelocityX(startState);
+        int velocityY = getStateVelocityY(startState);
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            if (DIRECTIONS[direction].vector.getX() == -Integer.signum(velocityX)
+                && DIRECTIONS[direction].vector.getY() == -Integer.signum(velocityY)) {
+                int newVelocityX = velocityX + DIRECTIONS[direction].vector.getX();
+                int newVelocityY = velocityY + DIRECTIONS[direction].vector.getY();
+                TurnEvaluator.Outcome outcome = turnEvaluator.evaluate(carIndex, x, y, x + newVelocityX, y + newVelocityY);
+                if (outcome != TurnEvaluator.Outcome.CRASHED) {
+                    long next = packState(turnEvaluator.getEndX(), turnEvaluator.getEndY(), newVelocityX, newVelocityY);
+                    return addNode(next, 0, (byte) direction);
+                }
+            }
+        }
+        return 0;
+    }
+
+    private boolean isCloserToFinish(int node, int otherNode) {
+        int distance = distanceField.getDistance(getStateX(states[node]), getStateY(states[node]));
+        int otherDistance = distanceField.getDistance(getStateX(states[otherNode]), getStateY(states[otherNode]));
+        return distance < otherDistance || (distance == otherDistance && costs[node] < costs[otherNode]);
+    }
+
+    // binary min heap of node indices, ordered by estimate, deeper nodes first on equal estimates
+
+    private boolean isBefore(int node, int otherNode) {
+        return estimates[node] < estimates[otherNode]
+            || (estimates[node] == estimates[otherNode] && costs[node] > costs[otherNode]);
+    }
+
+    private void push(int node) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        int index = heapSize++;
+        while (index > 0 && isBefore(node, heap[(index - 1) / 2])) {
+            heap[index] = heap[(index - 1) / 2];
+            index = (index - 1) / 2;
+        }
+        heap[index] = node;
+    }
+
+    private int pop() {
+        int first = heap[0];
+        int last = heap[--heapSize];
+        int index = 0;
+        while (2 * index + 1 < heapSize) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!isBefore(heap[child], last)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = last;
+        return first;
+    }
+}
@@ -2,43 +2,53 @@ package ch.zhaw.pm2.racetrack.strategy;
 
 import ch.zhaw.pm2.racetrack.PositionVector.Direction;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
 
 /**
  * Returns a Direction vector object parsed from a specific track follower-file containing predefined movement vectors.
  *
+ * <p>The file is either a text file with one {@link Direction} per line or a {@link PackedMoveList}. The moves
+ * are read lazily with a {@link MoveFileCursor} or a {@link PackedMoveReader}: each call of {@link #nextMove()}
+ * decodes the next move of the file. When all moves are used, the car does not accelerate anymore.</p>
+ *
  * @return Direction object
  */
 public class FileMovement implements MoveStrategy {
-    public BufferedReader reader;
-    private ArrayList<Direction> arrayListMove;
+    private MoveFileCursor cursor;
+    private PackedMoveReader packedMoves;
 
     public FileMovement(String trackFile, String carCharacter) {
-        try {
-            String followerFileName = trackFile.replace("tracks/", "").replace(".txt", "").replace("tracks\\", "") + "_" + carCharacter + ".txt";
+        this(StrategyFiles.resolveMoveList(trackFile, carCharacter));
+    }
 
-            reader = new BufferedReader(new InputStreamReader(new FileInputStream(new File("FileMovement", followerFileName))));
-            String line;
-            arrayListMove = new ArrayList<>();
-            while ((line = reader.readLine()) != null) {
-                if (line.length() > 0) {
-                    arrayListMove.add(Direction.valueOf(line));
-                }
-            }
-        } catch (IOException e) {
-            System.out.println("Error: " + " : " + e.getMessage());
+    /**
+     * Opens the given move list file.
+     *
+     * @param moveListFile file containing one {@link Direction} per line or a {@link PackedMoveList}
+     * @throws UncheckedIOException if the file could not be read
+     */
+    public FileMovement(File moveListFile) {
+        if (PackedMoveList.isPacked(moveListFile)) {
+            packedMoves = PackedMoveReader.open(moveListFile);
+        } else {
+            cursor = new MoveFileCursor(moveListFile);
         }
     }
 
+    /**
+     * @return the next move of the file or {@link Direction#NONE} if all moves are used
+     * @throws IllegalArgumentException if the line is not the name of a {@link Direction}
+     * @throws IllegalStateException    if the packed move list is damaged
+     */
     @Override
     public Direction nextMove() {
-        Direction nextDirection = arrayListMove.get(0);
-        arrayListMove.remove(0);
-        return nextDirection;
+        if (packedMoves != null) {
+            return packedMoves.next();
+        }
+        if (!cursor.nextLine()) {
+            return Direction.NONE;
+        }
+        return Direction.valueOf(cursor.getLine());
     }
 }
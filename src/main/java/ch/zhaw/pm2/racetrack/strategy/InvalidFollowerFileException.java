@@ -0,0 +1,12 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+/**
+ * Exception type for follower files whose positions can not be driven on the track.
+ */
+public class InvalidFollowerFileException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidFollowerFileException(String message) {
+        super(message);
+    }
+}
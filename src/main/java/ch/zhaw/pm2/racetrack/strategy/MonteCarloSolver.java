@@ -0,0 +1,410 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Car;
+import ch.zhaw.pm2.racetrack.Config.StrategyType;
+import ch.zhaw.pm2.racetrack.DistanceField;
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.TurnEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the acceleration of the car with Monte Carlo tree search (MCTS) within a time budget per move.
+ *
+ * <p>Every iteration of the search plays the race from the current state on a fork of the game
+ * ({@link Game#fork()}) until the car wins, crashes, another car wins or {@link #MAX_ROLLOUT_TURNS} turns of the
+ * car have been played. The first moves of the car are chosen in a tree of its moves with UCT (upper confidence
+ * bound: the average reward of a move plus an exploration bonus for rarely tried moves), the following moves
+ * by a heuristic rollout policy. The tree is open loop: a node stands for a sequence of moves of the car and the
+ * state is replayed from the root in every iteration, because the moves of the other cars are random.</p>
+ * <p>The other cars are moved by a model of their strategy type: cars with {@link StrategyType#DO_NOT_MOVE} stay,
+ * all others drive with the rollout policy. Cars are obstacles in the simulation as in the game, so the search
+ * avoids crashes into other cars and prefers moves after which another car crashes into this car.</p>
+ * <p>The rollout policy drives towards the finish line ({@link DistanceField}) with moves after which the car can
+ * still brake to a stop without crashing, and tries a random one of these safe moves now and then. The tree only
+ * tries the safe moves as well, the move of the rollout policy first.</p>
+ * <p>A win is rewarded between 0.5 and 1 (the faster the higher), a crash or a win of another car with 0 and an
+ * unfinished rollout with up to 0.5 by its progress to the finish line. The search runs on the given amount of
+ * worker threads, every worker with its own tree (root parallelization); the move tried most often over all trees
+ * is driven. With a single worker the search runs on the calling thread, so races running in parallel do not
+ * start threads of their own. The amount of rollouts and simulated moves per second is counted for tuning.</p>
+ */
+public class MonteCarloSolver implements MoveStrategy {
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 50;
+    public static final int MAX_ROLLOUT_TURNS = 100;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final double EXPLORATION = 0.3;
+    private static final double RANDOM_MOVE_PROBABILITY = 0.1;
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 1;
+
+    private final Game game;
+    private final int carIndex;
+    private final long timeBudgetNanos;
+    private final int workerCount;
+    private final ThreadPoolExecutor workers;
+    private final SplittableRandom seeds;
+
+    private long lastRollouts;
+    private long totalRollouts;
+    private long totalSimulatedMoves;
+    private long totalSearchNanos;
+
+    /**
+     * Creates a solver searching with one worker thread per processor.
+     *
+     * @param game     the game the car drives in
+     * @param carIndex the zero-based index of the car
+     */
+    public MonteCarloSolver(Game game, int carIndex) {
+        this(game, carIndex, DEFAULT_TIME_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    /**
+     * @param game             the game the car drives in
+     * @param carIndex         the zero-based index of the car
+     * @param timeBudgetMillis time in milliseconds a move is searched
+     * @param workerCount      amount of threads searching in parallel, 1 to search on the calling thread
+     * @param seed             seed of the random moves
+     */
+    public MonteCarloSolver(Game game, int carIndex, long timeBudgetMillis, int workerCount, long seed) {
+        if (timeBudgetMillis <= 0 || workerCount <= 0) {
+            throw new IllegalArgumentException("The time budget and the amount of workers must be positive.");
+        }
+        this.game = game;
+        this.carIndex = carIndex;
+        this.workerCount = workerCount;
+        timeBudgetNanos = timeBudgetMillis * 1_000_000;
+        seeds = new SplittableRandom(seed);
+        workers = workerCount == 1 ? null : new ThreadPoolExecutor(workerCount, workerCount, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "racetrack-mcts");
+                thread.setDaemon(true);
+                return thread;
+            });
+        if (workers != null) {
+            workers.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    @Override
+    public Direction nextMove() {
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        // calculated once and shared by all forks
+        game.getTrack().getDistanceField();
+        List<Future<Search>> searches = new ArrayList<>(workerCount);
+        if (workers == null) {
+            Search search = new Search(game.fork(), seeds.split(), deadline);
+            search.run();
+            searches.add(CompletableFuture.completedFuture(search));
+        } else {
+            for (int worker = 0; worker < workerCount; worker++) {
+                Search search = new Search(game.fork(), seeds.split(), deadline);
+                searches.add(workers.submit(search::run, search));
+            }
+        }
+        long[] visits = new long[DIRECTIONS.length];
+        double[] rewards = new double[DIRECTIONS.length];
+        lastRollouts = 0;
+        for (Future<Search> future : searches) {
+            Search search = getResult(future);
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                Node child = search.root.children == null ? null : search.root.children[direction];
+                if (child != null) {
+                    visits[direction] += child.visits;
+                    rewards[direction] += child.reward;
+                }
+            }
+            lastRollouts += search.rollouts;
+            totalSimulatedMoves += search.simulatedMoves;
+        }
+        totalRollouts += lastRollouts;
+        totalSearchNanos += System.nanoTime() - start;
+        return selectMostVisited(visits, rewards);
+    }
+
+    private static Search getResult(Future<Search> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The search has been interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The search failed.", e.getCause());
+        }
+    }
+
+    private static Direction selectMostVisited(long[] visits, double[] rewards) {
+        int best = -1;
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            if (visits[direction] > 0 && (best == -1 || visits[direction] > visits[best]
+                || (visits[direction] == visits[best] && rewards[direction] > rewards[best]))) {
+                best = direction;
+            }
+        }
+        return best == -1 ? Direction.NONE : DIRECTIONS[best];
+    }
+
+    /**
+     * @return the amount of rollouts of the last move
+     */
+    public long getLastRollouts() {
+        return lastRollouts;
+    }
+
+    /**
+     * @return the amount of rollouts of all moves so far
+     */
+    public long getTotalRollouts() {
+        return totalRollouts;
+    }
+
+    /**
+     * @return the amount of turns played in the simulations of all moves so far, of all cars
+     */
+    public long getTotalSimulatedMoves() {
+        return totalSimulatedMoves;
+    }
+
+    /**
+     * @return the amount of simulated turns per second of search time, over all workers
+     */
+    public double getSimulatedMovesPerSecond() {
+        return totalSearchNanos == 0 ? 0 : totalSimulatedMoves * 1e9 / totalSearchNanos;
+    }
+
+    /**
+     * A node of the search tree: a sequence of moves of the car, with the amount of rollouts through it and the sum
+     * of their rewards.
+     */
+    private static final class Node {
+        private Node[] children;
+        private int visits;
+        private double reward;
+    }
+
+    /**
+     * The search of one worker, on its own fork of the game and with its own tree.
+     */
+    private final class Search {
+        private final Game simulation;
+        private final long[] rootSnapshot;
+        private final TurnEvaluator turnEvaluator;
+        private final DistanceField distanceField;
+        private final SplittableRandom random;
+        private final long deadline;
+        private final Node root = new Node();
+        private final List<Node> path = new ArrayList<>();
+        private final int rootDistance;
+        // moves collected by collectMoves: ordinals of the directions and the move of the rollout policy
+        private final int[] candidates = new int[DIRECTIONS.length];
+        private int policyMove;
+        private long rollouts;
+        private long simulatedMoves;
+        private int ownTurns;
+
+        Search(Game simulation, SplittableRandom random, long deadline) {
+            this.simulation = simulation;
+            this.random = random;
+            this.deadline = deadline;
+            rootSnapshot = simulation.createSnapshot();
+            turnEvaluator = new TurnEvaluator(simulation.getTrack());
+            distanceField = simulation.getTrack().getDistanceField();
+            rootDistance = simulation.getTrack().getCarDistanceToFinish(carIndex);
+        }
+
+        void run() {
+            do {
+                iterate();
+                rollouts++;
+            } while (System.nanoTime() < deadline);
+        }
+
+        private void iterate() {
+            simulation.restoreSnapshot(rootSnapshot);
+            path.clear();
+            ownTurns = 0;
+            Node node = root;
+            path.add(node);
+            boolean expanded = false;
+            while (!expanded && ownTurns < MAX_ROLLOUT_TURNS && advanceToOwnTurn()) {
+                if (node.children == null) {
+                    node.children = new Node[DIRECTIONS.length];
+                }
+                int moveCount = collectMoves(carIndex);
+                int direction = selectUnvisited(node, moveCount);
+                if (direction >= 0) {
+                    node.children[direction] = new Node();
+                    expanded = true;
+                } else {
+                    direction = selectByConfidenceBound(node, moveCount);
+                }
+                node = node.children[direction];
+                path.add(node);
+                playOwnMove(DIRECTIONS[direction]);
+            }
+            while (ownTurns < MAX_ROLLOUT_TURNS && advanceToOwnTurn()) {
+                playOwnMove(choosePolicyMove(carIndex, true));
+            }
+            double reward = evaluate();
+            for (Node visited : path) {
+                visited.visits++;
+                visited.reward += reward;
+            }
+        }
+
+        /**
+         * Selects a move which has not been tried at the node yet, the move of the rollout policy first.
+         *
+         * @return the ordinal of the direction or -1 if all moves have been tried
+         */
+        private int selectUnvisited(Node node, int moveCount) {
+            if (node.children[policyMove] == null) {
+                return policyMove;
+            }
+            int unvisited = 0;
+            for (int index = 0; index < moveCount; index++) {
+                if (node.children[candidates[index]] == null) {
+                    candidates[unvisited++] = candidates[index];
+                }
+            }
+            return unvisited == 0 ? -1 : candidates[random.nextInt(unvisited)];
+        }
+
+        private int selectByConfidenceBound(Node node, int moveCount) {
+            double logVisits = Math.log(node.visits);
+            int best = policyMove;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            for (int index = 0; index < moveCount; index++) {
+                Node child = node.children[candidates[index]];
+                double bound = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (bound > bestBound) {
+                    bestBound = bound;
+                    best = candidates[index];
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays the turns of the other cars until it is the turn of the car.
+         *
+         * @return true if the car is to move, false if the race is decided or the car is crashed
+         */
+        private boolean advanceToOwnTurn() {
+            while (simulation.getWinner() == Game.NO_WINNER && !simulation.getTrack().getCar(carIndex).isCrashed()) {
+                int current = simulation.getCurrentCarIndex();
+                if (current == carIndex) {
+                    return true;
+                }
+                Car car = simulation.getTrack().getCar(current);
+                playMove(car.getStrategyType() == StrategyType.DO_NOT_MOVE
+                    ? Direction.NONE : choosePolicyMove(current, false));
+            }
+            return false;
+        }
+
+        private void playOwnMove(Direction direction) {
+            playMove(direction);
+            ownTurns++;
+        }
+
+        private void playMove(Direction direction) {
+            simulation.doCarTurn(direction);
+            simulation.switchToNextActiveCar();
+            simulatedMoves++;
+        }
+
+        /**
+         * Chooses a move of the rollout policy: the move of {@link #collectMoves(int)} closest to the finish line,
+         * or sometimes a random one of the moves.
+         */
+        private Direction choosePolicyMove(int movingCar, boolean explore) {
+            int moveCount = collectMoves(movingCar);
+            if (explore && moveCount > 1 && random.nextDouble() < RANDOM_MOVE_PROBABILITY) {
+                return DIRECTIONS[candidates[random.nextInt(moveCount)]];
+            }
+            return DIRECTIONS[policyMove];
+        }
+
+        /**
+         * Collects the moves worth trying in the current state: a move which wins, otherwise the moves after which
+         * the car can brake to a stop without crashing, otherwise the moves which do not crash, otherwise
+         * {@link Direction#NONE}. The moves are stored in {@link #candidates}, the one closest to the finish line in
+         * {@link #policyMove}.
+         *
+         * @return the amount of moves
+         */
+        private int collectMoves(int movingCar) {
+            Car car = simulation.getTrack().getCar(movingCar);
+            int x = car.getPositionX();
+            int y = car.getPositionY();
+            int safeMoves = 0;
+            int movingMoves = 0;
+            int bestDistance = Integer.MAX_VALUE;
+            policyMove = -1;
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                int velocityX = car.getVelocityX() + DIRECTIONS[direction].vector.getX();
+                int velocityY = car.getVelocityY() + DIRECTIONS[direction].vector.getY();
+                TurnEvaluator.Outcome outcome = turnEvaluator.evaluate(movingCar, x, y, x + velocityX, y + velocityY);
+                if (outcome == TurnEvaluator.Outcome.WON) {
+                    candidates[0] = direction;
+                    policyMove = direction;
+                    return 1;
+                } else if (outcome == TurnEvaluator.Outcome.CRASHED) {
+                    continue;
+                }
+                int endX = turnEvaluator.getEndX();
+                int endY = turnEvaluator.getEndY();
+                movingMoves |= 1 << direction;
+                if (turnEvaluator.canStop(movingCar, endX, endY, velocityX, velocityY)) {
+                    candidates[safeMoves++] = direction;
+                    int distance = distanceField.getDistance(endX, endY);
+                    if (distance != DistanceField.UNREACHABLE
+                        && (distance < bestDistance || (distance == bestDistance && random.nextBoolean()))) {
+                        bestDistance = distance;
+                        policyMove = direction;
+                    }
+                }
+            }
+            if (safeMoves == 0) {
+                for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                    if ((movingMoves & (1 << direction)) != 0) {
+                        candidates[safeMoves++] = direction;
+                    }
+                }
+            }
+            if (safeMoves == 0) {
+                candidates[safeMoves++] = Direction.NONE.ordinal();
+            }
+            if (policyMove == -1) {
+                policyMove = candidates[random.nextInt(safeMoves)];
+            }
+            return safeMoves;
+        }
+
+        private double evaluate() {
+            int winner = simulation.getWinner();
+            if (winner == carIndex) {
+                return 0.5 + 0.5 * (MAX_ROLLOUT_TURNS - ownTurns + 1) / (MAX_ROLLOUT_TURNS + 1);
+            } else if (winner != Game.NO_WINNER || simulation.getTrack().getCar(carIndex).isCrashed()) {
+                return 0;
+            }
+            int distance = simulation.getTrack().getCarDistanceToFinish(carIndex);
+            if (distance == DistanceField.UNREACHABLE || distance >= rootDistance + 1) {
+                return 0;
+            }
+            return 0.5 * (rootDistance + 1 - distance) / (rootDistance + 2);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Cursor over the non-empty lines of a text file with predefined moves.
+ *
+ * <p>The file is read in blocks of {@link #BLOCK_SIZE} bytes. For every block the file is opened, read at the
+ * position the cursor has reached and closed again, so no file handle and no memory mapping stays open between
+ * two blocks, also if the moves are never replayed to the end. Lines are only decoded when the cursor reaches
+ * them, so a file is replayed with constant memory, regardless of its length. Lines may end with "\n" or
+ * "\r\n".</p>
+ */
+class MoveFileCursor {
+    static final int BLOCK_SIZE = 8 * 1024;
+
+    private final File file;
+    private byte[] content = new byte[BLOCK_SIZE];
+    // amount of bytes of the file read so far
+    private long filePosition;
+    private int position;
+    private int limit;
+    private boolean endOfFile;
+    private int lineStart;
+    private int lineEnd;
+
+    /**
+     * Reads the first block of the file.
+     *
+     * @param file the file to read
+     * @throws UncheckedIOException if the file could not be read
+     */
+    MoveFileCursor(File file) {
+        this.file = file;
+        readBlock(0);
+    }
+
+    /**
+     * Moves the cursor to the next non-empty line.
+     *
+     * @return false if there are no more lines
+     * @throws UncheckedIOException if the file could not be read
+     */
+    boolean nextLine() {
+        while (position == limit || isLineEnd(content[position])) {
+            if (position == limit) {
+                if (endOfFile) {
+                    return false;
+                }
+                readBlock(position);
+            } else {
+                position++;
+            }
+        }
+        lineStart = position;
+        while (position == limit || !isLineEnd(content[position])) {
+            if (position < limit) {
+                position++;
+            } else if (endOfFile) {
+                break;
+            } else {
+                readBlock(lineStart);
+            }
+        }
+        lineEnd = position;
+        return true;
+    }
+
+    /**
+     * Reads the next block of the file behind the bytes of the buffer. The bytes before the given index are not
+     * needed anymore and are dropped, the buffer grows if a line is longer than a block.
+     *
+     * @param keptStart index of the first byte which must be kept, e.g. the start of the current line
+     */
+    private void readBlock(int keptStart) {
+        if (keptStart > 0) {
+            System.arraycopy(content, keptStart, content, 0, limit - keptStart);
+            limit -= keptStart;
+            position -= keptStart;
+            lineStart -= keptStart;
+        }
+        if (limit == content.length) {
+            content = Arrays.copyOf(content, content.length * 2);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            int read = channel.read(ByteBuffer.wrap(content, limit, content.length - limit), filePosition);
+            if (read == -1) {
+                endOfFile = true;
+            } else {
+                filePosition += read;
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Move file " + file + " couldn't be read.", e);
+        }
+    }
+
+    /**
+     * @return the current line
+     */
+    String getLine() {
+        return new String(content, lineStart, lineEnd - lineStart, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Parses a number of the current line, the numbers are separated by the given character.
+     *
+     * @param field     zero-based index of the number on the line
+     * @param separator character between the numbers
+     * @return the parsed number
+     * @throws NumberFormatException if the line does not contain a number at the given index
+     */
+    int getInt(int field, char separator) {
+        int position = lineStart;
+        for (int skipped = 0; skipped < field; position++) {
+            if (position >= lineEnd) {
+                throw new NumberFormatException("Missing number " + field + " on line \"" + getLine() + "\"");
+            }
+            if (content[position] == separator) {
+                skipped++;
+            }
+        }
+        boolean negative = position < lineEnd && content[position] == '-';
+        if (negative) {
+            position++;
+        }
+        int start = position;
+        int value = 0;
+        while (position < lineEnd && content[position] != separator) {
+            int digit = content[position] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid number " + field + " on line \"" + getLine() + "\"");
+            }
+            value = value * 10 + digit;
+            position++;
+        }
+        if (position == start) {
+            throw new NumberFormatException("Missing number " + field + " on line \"" + getLine() + "\"");
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean isLineEnd(byte character) {
+        return character == '\n' || character == '\r';
+    }
+}
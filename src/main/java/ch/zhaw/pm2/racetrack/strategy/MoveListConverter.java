@@ -0,0 +1,62 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Converts text move lists (one {@link Direction} per line) into {@link PackedMoveList} files.
+ *
+ * <p>Usage: {@code MoveListConverter <file or directory>...}. For each text file the packed file is written next
+ * to it ({@code challenge_a.txt} becomes {@code challenge_a.rtm}), directories are converted file by file.</p>
+ */
+public class MoveListConverter {
+
+    /**
+     * Converts a text move list into a packed move list.
+     *
+     * @param textFile   the text move list
+     * @param packedFile the packed file to write
+     * @return the amount of converted moves
+     * @throws IOException              if a file could not be read or written
+     * @throws IllegalArgumentException if a line is not the name of a {@link Direction}
+     */
+    public static int convert(File textFile, File packedFile) throws IOException {
+        PackedMoveWriter writer = new PackedMoveWriter();
+        try {
+            MoveFileCursor cursor = new MoveFileCursor(textFile);
+            while (cursor.nextLine()) {
+                writer.add(Direction.valueOf(cursor.getLine()));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.write(packedFile);
+        return writer.getMoveCount();
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: MoveListConverter <file or directory>...");
+            System.exit(1);
+        }
+        try {
+            for (String arg : args) {
+                File file = new File(arg);
+                File[] textFiles = file.isDirectory() ? file.listFiles((directory, name) -> name.endsWith(".txt"))
+                    : new File[]{file};
+                for (File textFile : textFiles) {
+                    File packedFile = PackedMoveList.getPackedFile(textFile);
+                    int moves = convert(textFile, packedFile);
+                    System.out.println(textFile + " -> " + packedFile + ": " + moves + " moves, "
+                        + textFile.length() + " -> " + packedFile.length() + " bytes");
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.TurnEvaluator;
+import ch.zhaw.pm2.racetrack.collections.VisitedStateSet;
+
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.getStateVelocityX;
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.getStateVelocityY;
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.getStateX;
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.getStateY;
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.packState;
+
+/**
+ * Drives the car on a route with the minimum amount of turns to the finish line.
+ *
+ * <p>The route is found with a breadth-first search over the states (x, y, vx, vy) of the car. From every state
+ * the nine accelerations of {@link Direction} are tried with the rules of the game ({@link TurnEvaluator}):
+ * crashing moves are dropped, moves blocked by the finish line stop in front of it and the search ends with the
+ * first move which crosses the finish line correctly. Visited states are kept in a
+ * {@link VisitedStateSet}, one bit per state of the track.</p>
+ * <p>The route is planned with the other cars as obstacles on their current positions and planned again as
+ * described in {@link PlanningStrategy}.</p>
+ */
+public class OptimalSolver extends PlanningStrategy {
+
+    public OptimalSolver(Track track, int carIndex) {
+        super(track, carIndex);
+    }
+
+    /**
+     * Plans the route with the minimum amount of turns from the given state to the finish line.
+     *
+     * @param startState the encoded start state
+     */
+    @Override
+    protected void search(long startState) {
+        resetNodes(startState);
+        VisitedStateSet visited = VisitedStateSet.forTrack(track.getWidth(), track.getHeight());
+        visited.add(startState);
+        for (int head = 0; head < size; head++) {
+            long state = states[head];
+            int x = getStateX(state);
+            int y = getStateY(state);
+            int velocityX = getStateVelocityX(state);
+            int velocityY = getStateVelocityY(state);
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                int newVelocityX = velocityX + DIRECTIONS[direction].vector.getX();
+                int newVelocityY = velocityY + DIRECTIONS[direction].vector.getY();
+                TurnEvaluator.Outcome outcome = turnEvaluator.evaluate(carIndex, x, y, x + newVelocityX, y + newVelocityY);
+                if (outcome == TurnEvaluator.Outcome.CRASHED) {
+                    continue;
+                }
+                long next = packState(turnEvaluator.getEndX(), turnEvaluator.getEndY(), newVelocityX, newVelocityY);
+                if (outcome == TurnEvaluator.Outcome.WON) {
+                    createPlan(addNode(next, head, (byte) direction));
+                    return;
+                } else if (visited.add(next)) {
+                    addNode(next, head, (byte) direction);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Compact binary format of a list of moves.
+ *
+ * <p>The file has the following layout (big endian):
+ * <ul>
+ *   <li>int: magic number {@link #MAGIC}</li>
+ *   <li>int: amount of moves</li>
+ *   <li>the moves as 4 bit codes, two codes per byte, high half first. The codes 0 to 8 are the ordinals of
+ *       {@link Direction}. The code {@link #RUN} repeats the previous move: it is followed by the amount of
+ *       repetitions in codes of 3 bits each, lowest bits first, the highest bit of a code is set if another code
+ *       follows. Runs are only written for at least {@link #MIN_RUN_LENGTH} repetitions.</li>
+ * </ul>
+ * </p>
+ * <p>Lists are written with {@link PackedMoveWriter} and read with {@link PackedMoveReader}.
+ * {@link MoveListConverter} converts text move lists (one {@link Direction} per line) into this format.</p>
+ */
+public final class PackedMoveList {
+    public static final int MAGIC = 0x52544D31;
+    public static final String FILE_EXTENSION = ".rtm";
+    public static final int HEADER_LENGTH = 8;
+
+    static final int RUN = 0xF;
+    static final int MIN_RUN_LENGTH = 3;
+    static final int RUN_LENGTH_BITS = 3;
+    static final int RUN_CONTINUATION = 1 << RUN_LENGTH_BITS;
+
+    private PackedMoveList() {
+    }
+
+    /**
+     * Checks if the given file starts with the magic number of a packed move list.
+     *
+     * @param file the file to check
+     * @return true if the file is a packed move list
+     */
+    public static boolean isPacked(File file) {
+        if (file.length() < HEADER_LENGTH) {
+            return false;
+        }
+        try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+            return input.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the packed file belonging to a text move list, e.g. {@code challenge_a.rtm} for {@code challenge_a.txt}.
+     *
+     * @param textFile the text move list
+     * @return the packed file next to the text file
+     */
+    public static File getPackedFile(File textFile) {
+        String name = textFile.getName();
+        int extension = name.lastIndexOf('.');
+        String baseName = (extension > 0) ? name.substring(0, extension) : name;
+        return new File(textFile.getAbsoluteFile().getParentFile(), baseName + FILE_EXTENSION);
+    }
+}
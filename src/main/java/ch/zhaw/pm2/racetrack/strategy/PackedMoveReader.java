@@ -0,0 +1,114 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+/**
+ * Decodes the moves of a {@link PackedMoveList} one by one, without allocating objects per move.
+ */
+public class PackedMoveReader {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ByteBuffer content;
+    private int codeIndex;
+    private int remainingMoves;
+    private int remainingRepetitions;
+    private Direction lastDirection;
+
+    /**
+     * @param content the packed move list including the header, starting at the current position of the buffer
+     * @throws IllegalArgumentException if the content does not start with the header of a packed move list
+     */
+    public PackedMoveReader(ByteBuffer content) {
+        if (content.remaining() < PackedMoveList.HEADER_LENGTH || content.getInt() != PackedMoveList.MAGIC) {
+            throw new IllegalArgumentException("The content is not a packed move list.");
+        }
+        remainingMoves = content.getInt();
+        this.content = content.slice();
+    }
+
+    /**
+     * Reads the given packed move list file into memory and closes it right away. The file is not memory mapped,
+     * so it can be rewritten (e.g. by {@link MoveListConverter}) while the moves are replayed.
+     *
+     * @param file the packed move list file
+     * @return the reader of the file
+     * @throws UncheckedIOException     if the file could not be read
+     * @throws IllegalArgumentException if the file is not a packed move list
+     */
+    public static PackedMoveReader open(File file) {
+        try {
+            return new PackedMoveReader(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Move file " + file + " couldn't be read.", e);
+        }
+    }
+
+    /**
+     * @return true if there are moves left
+     */
+    public boolean hasNext() {
+        return remainingMoves > 0;
+    }
+
+    /**
+     * @return the amount of moves left
+     */
+    public int getRemainingMoves() {
+        return remainingMoves;
+    }
+
+    /**
+     * Decodes the next move.
+     *
+     * @return the next move or {@link Direction#NONE} if all moves are used
+     * @throws IllegalStateException if the content is damaged
+     */
+    public Direction next() {
+        if (remainingMoves == 0) {
+            return Direction.NONE;
+        }
+        remainingMoves--;
+        if (remainingRepetitions > 0) {
+            remainingRepetitions--;
+            return lastDirection;
+        }
+        int code = readCode();
+        if (code == PackedMoveList.RUN && lastDirection != null) {
+            remainingRepetitions = readRunLength() - 1;
+            return lastDirection;
+        } else if (code >= DIRECTIONS.length) {
+            throw new IllegalStateException("Invalid move code " + code + " in packed move list.");
+        }
+        lastDirection = DIRECTIONS[code];
+        return lastDirection;
+    }
+
+    private int readRunLength() {
+        int length = 0;
+        int shift = 0;
+        int code;
+        do {
+            code = readCode();
+            length |= (code & (PackedMoveList.RUN_CONTINUATION - 1)) << shift;
+            shift += PackedMoveList.RUN_LENGTH_BITS;
+        } while ((code & PackedMoveList.RUN_CONTINUATION) != 0);
+        return length;
+    }
+
+    private int readCode() {
+        int index = codeIndex / 2;
+        if (index >= content.limit()) {
+            throw new IllegalStateException("Packed move list ends before its last move.");
+        }
+        int packed = content.get(index);
+        int code = (codeIndex % 2 == 0) ? (packed >>> 4) & 0xF : packed & 0xF;
+        codeIndex++;
+        return code;
+    }
+}
@@ -0,0 +1,126 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Collects moves and writes them as {@link PackedMoveList}.
+ *
+ * <p>Repeated moves are collected as run and only encoded when another move is added or the list is written,
+ * so moves can be added one by one while a race is recorded.</p>
+ */
+public class PackedMoveWriter {
+    private byte[] codes = new byte[64];
+    private int codeCount;
+    private int moveCount;
+    private Direction runDirection;
+    private int runLength;
+
+    /**
+     * Adds the next move.
+     *
+     * @param direction the move
+     */
+    public void add(Direction direction) {
+        if (direction == runDirection) {
+            runLength++;
+        } else {
+            flushRun();
+            runDirection = direction;
+            runLength = 1;
+        }
+        moveCount++;
+    }
+
+    /**
+     * @return the amount of moves added
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns the packed move list including the header.
+     *
+     * @return the packed bytes
+     */
+    public byte[] toByteArray() {
+        flushRun();
+        int bodyLength = (codeCount + 1) / 2;
+        byte[] bytes = new byte[PackedMoveList.HEADER_LENGTH + bodyLength];
+        writeInt(bytes, 0, PackedMoveList.MAGIC);
+        writeInt(bytes, 4, moveCount);
+        System.arraycopy(codes, 0, bytes, PackedMoveList.HEADER_LENGTH, bodyLength);
+        return bytes;
+    }
+
+    /**
+     * Writes the packed move list to the given stream.
+     *
+     * @param output the stream, it is not closed
+     * @throws IOException if the stream could not be written
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        output.write(toByteArray());
+    }
+
+    /**
+     * Writes the packed move list to the given file.
+     *
+     * @param file the file, an existing file is replaced
+     * @throws IOException if the file could not be written
+     */
+    public void write(File file) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file))) {
+            writeTo(output);
+        }
+    }
+
+    private void flushRun() {
+        if (runLength == 0) {
+            return;
+        }
+        addCode(runDirection.ordinal());
+        int repetitions = runLength - 1;
+        if (repetitions >= PackedMoveList.MIN_RUN_LENGTH) {
+            addCode(PackedMoveList.RUN);
+            do {
+                int code = repetitions & (PackedMoveList.RUN_CONTINUATION - 1);
+                repetitions >>>= PackedMoveList.RUN_LENGTH_BITS;
+                addCode(repetitions > 0 ? code | PackedMoveList.RUN_CONTINUATION : code);
+            } while (repetitions > 0);
+        } else {
+            for (int repetition = 0; repetition < repetitions; repetition++) {
+                addCode(runDirection.ordinal());
+            }
+        }
+        runLength = 0;
+        runDirection = null;
+    }
+
+    private void addCode(int code) {
+        int index = codeCount / 2;
+        if (index == codes.length) {
+            codes = Arrays.copyOf(codes, codes.length * 2);
+        }
+        if (codeCount % 2 == 0) {
+            codes[index] = (byte) (code << 4);
+        } else {
+            codes[index] |= (byte) code;
+        }
+        codeCount++;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
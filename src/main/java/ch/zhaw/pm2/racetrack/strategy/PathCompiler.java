@@ -0,0 +1,186 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.CompiledTrack;
+import ch.zhaw.pm2.racetrack.PositionVector;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.TerrainKey;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.TurnEvaluator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validates the positions of a follower file against a track and compiles them into moves.
+ *
+ * <p>The car starts on its start position without velocity and drives from position to position. For every
+ * position it is checked that</p>
+ * <ul>
+ *     <li>the acceleration needed to reach it is a {@link Direction} (-1, 0 or 1 on both axes)</li>
+ *     <li>the path to it does not cross a WALL space (other cars are not considered)</li>
+ *     <li>the path to it is not blocked by a finish line passed in the wrong direction</li>
+ * </ul>
+ * <p>The path must cross the finish line in the right direction, positions after the crossing are ignored.
+ * The first position which breaks a rule is reported with an {@link InvalidFollowerFileException}.</p>
+ * <p>The moves are stored as {@link PackedMoveList} and cached by the terrain of the track ({@link TerrainKey}),
+ * the content hash of the follower file and the start position, so a follower file is only validated once, no
+ * matter how many races use it. The cached moves are only softly referenced: moves which no strategy uses
+ * anymore are reclaimed when memory runs low and compiled again when they are needed.</p>
+ */
+public final class PathCompiler {
+    private static final Map<PathKey, CachedMoves> CACHE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<byte[]> RECLAIMED_MOVES = new ReferenceQueue<>();
+
+    private PathCompiler() {
+    }
+
+    /**
+     * Returns the compiled moves of the given follower file.
+     *
+     * @param track         the track the path is driven on
+     * @param followerFile  file containing one position per line ("x;y")
+     * @param startPosition start position of the car
+     * @return the moves as {@link PackedMoveList}, the array is shared and must not be changed
+     * @throws InvalidFollowerFileException if a position can not be reached or the finish line is not crossed
+     * @throws UncheckedIOException         if the file could not be read
+     */
+    public static byte[] compile(Track track, File followerFile, PositionVector startPosition) {
+        long fileHash;
+        try {
+            fileHash = CompiledTrack.calculateContentHash(followerFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Follower file " + followerFile + " couldn't be read.", e);
+        }
+        removeReclaimedMoves();
+        PathKey key = new PathKey(track.getTerrainKey(), fileHash, startPosition.getX(), startPosition.getY());
+        CachedMoves cachedMoves = CACHE.get(key);
+        byte[] moves = cachedMoves == null ? null : cachedMoves.get();
+        if (moves == null) {
+            // racing threads may both compile the file, one of the results is cached
+            moves = compileMoves(track, followerFile, startPosition);
+            CACHE.put(key, new CachedMoves(key, moves));
+        }
+        return moves;
+    }
+
+    private static void removeReclaimedMoves() {
+        for (Reference<? extends byte[]> reclaimed = RECLAIMED_MOVES.poll(); reclaimed != null;
+             reclaimed = RECLAIMED_MOVES.poll()) {
+            CachedMoves cachedMoves = (CachedMoves) reclaimed;
+            CACHE.remove(cachedMoves.key, cachedMoves);
+        }
+    }
+
+    private static byte[] compileMoves(Track track, File followerFile, PositionVector startPosition) {
+        TurnEvaluator turnEvaluator = new TurnEvaluator(track, false);
+        PackedMoveWriter writer = new PackedMoveWriter();
+        MoveFileCursor cursor = new MoveFileCursor(followerFile);
+        int x = startPosition.getX();
+        int y = startPosition.getY();
+        int velocityX = 0;
+        int velocityY = 0;
+        int waypoint = 0;
+        while (cursor.nextLine()) {
+            waypoint++;
+            int targetX;
+            int targetY;
+            try {
+                targetX = cursor.getInt(0, ';');
+                targetY = cursor.getInt(1, ';');
+            } catch (NumberFormatException e) {
+                throw invalid(followerFile, waypoint, cursor.getLine(), "is not a position \"x;y\"");
+            }
+            String position = targetX + ";" + targetY;
+            if (!isOnTrack(track, targetX, targetY)) {
+                throw invalid(followerFile, waypoint, position, "is outside of the track");
+            }
+            int accelerationX = targetX - x - velocityX;
+            int accelerationY = targetY - y - velocityY;
+            if (Math.abs(accelerationX) > 1 || Math.abs(accelerationY) > 1) {
+                throw invalid(followerFile, waypoint, position,
+                    "needs the acceleration (" + accelerationX + ", " + accelerationY + ")");
+            }
+            writer.add(getDirection(accelerationX, accelerationY));
+            TurnEvaluator.Outcome outcome = turnEvaluator.evaluate(-1, x, y, targetX, targetY);
+            if (outcome == TurnEvaluator.Outcome.WON) {
+                return writer.toByteArray();
+            } else if (outcome == TurnEvaluator.Outcome.CRASHED) {
+                throw invalid(followerFile, waypoint, position, "crashes into the wall at "
+                    + turnEvaluator.getEndX() + ";" + turnEvaluator.getEndY());
+            } else if (turnEvaluator.getEndX() != targetX || turnEvaluator.getEndY() != targetY) {
+                throw invalid(followerFile, waypoint, position, "is blocked by the finish line at "
+                    + turnEvaluator.getEndX() + ";" + turnEvaluator.getEndY());
+            }
+            x = targetX;
+            y = targetY;
+            velocityX += accelerationX;
+            velocityY += accelerationY;
+        }
+        throw new InvalidFollowerFileException("Follower file " + followerFile
+            + " is invalid - the path does not cross the finish line.");
+    }
+
+    private static boolean isOnTrack(Track track, int x, int y) {
+        return x >= 0 && x < track.getWidth() && y >= 0 && y < track.getHeight();
+    }
+
+    private static Direction getDirection(int accelerationX, int accelerationY) {
+        for (Direction direction : Direction.values()) {
+            if (direction.vector.getX() == accelerationX && direction.vector.getY() == accelerationY) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("No direction for (" + accelerationX + ", " + accelerationY + ")");
+    }
+
+    private static InvalidFollowerFileException invalid(File followerFile, int waypoint, String position,
+                                                        String reason) {
+        return new InvalidFollowerFileException("Follower file " + followerFile + " is invalid - position "
+            + waypoint + " (" + position + ") " + reason + ".");
+    }
+
+    private static final class PathKey {
+        private final TerrainKey terrainKey;
+        private final long fileHash;
+        private final int startX;
+        private final int startY;
+
+        PathKey(TerrainKey terrainKey, long fileHash, int startX, int startY) {
+            this.terrainKey = terrainKey;
+            this.fileHash = fileHash;
+            this.startX = startX;
+            this.startY = startY;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof PathKey)) {
+                return false;
+            }
+            PathKey key = (PathKey) other;
+            return fileHash == key.fileHash && terrainKey.equals(key.terrainKey)
+                && startX == key.startX && startY == key.startY;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(terrainKey, fileHash, startX, startY);
+        }
+    }
+
+    private static final class CachedMoves extends SoftReference<byte[]> {
+        private final PathKey key;
+
+        CachedMoves(PathKey key, byte[] moves) {
+            super(moves, RECLAIMED_MOVES);
+            this.key = key;
+        }
+    }
+}
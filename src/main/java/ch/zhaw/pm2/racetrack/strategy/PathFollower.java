@@ -3,63 +3,60 @@ package ch.zhaw.pm2.racetrack.strategy;
 import ch.zhaw.pm2.racetrack.PositionVector;
 import ch.zhaw.pm2.racetrack.PositionVector.Direction;
 import ch.zhaw.pm2.racetrack.PositionVectorHelper;
+import ch.zhaw.pm2.racetrack.Track;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 
+/**
+ * Follows the positions of a follower file ("x;y" per line).
+ *
+ * <p>The positions are read lazily with a {@link MoveFileCursor}. Each call of {@link #nextMove()} reads the
+ * next position and returns the acceleration needed to reach it from the previous one. After the last position
+ * one more move heads back to the start position, then the car does not accelerate anymore.</p>
+ * <p>If the track is known, the follower file is validated and compiled into moves when the strategy is created
+ * ({@link PathCompiler}). Then the car stops accelerating after it crossed the finish line.</p>
+ */
 public class PathFollower implements MoveStrategy {
-    private BufferedReader reader;
-    private ArrayList<PositionVector> arrayListPositionVector;
-    private ArrayList<Direction> directionArrayList;
+    private MoveFileCursor cursor;
+    private PackedMoveReader compiledMoves;
+    private PositionVector startPosition;
+    private PositionVector currentPosition;
+    private PositionVector velocity = new PositionVector(0, 0);
+    private boolean finished;
 
     public PathFollower(String trackFile, String carCharacter, PositionVector startPosition) {
-        directionArrayList = new ArrayList<>();
-        try {
-            String followerFileName = trackFile.replace("tracks/", "").replace(".txt", "").replace("tracks\\", "") + "_" + carCharacter + ".txt";
-
-            reader = new BufferedReader(new InputStreamReader(new FileInputStream(new File("Follower", followerFileName))));
-            String line;
-            arrayListPositionVector = new ArrayList<>();
-            while ((line = reader.readLine()) != null) {
-                if (line.length() > 0) {
-                    String[] vectorString = line.split(";");
-                    Integer vectorX = Integer.parseInt(vectorString[0]);
-                    Integer vectorY = Integer.parseInt(vectorString[1]);
-                    arrayListPositionVector.add(new PositionVector(vectorX, vectorY));
-                }
-            }
-            arrayListPositionVector.add(0, startPosition);
-        } catch (IOException e) {
-            System.out.println("Error: " + " : " + e.getMessage());
-        }
-        calculateDirections();
+        this(StrategyFiles.resolve(StrategyFiles.FOLLOWER_DIRECTORY, trackFile, carCharacter), startPosition);
     }
 
-    private void calculateDirections() {
-        PositionVector velocity = new PositionVector(0,0);
-        for (int index = 0; index < arrayListPositionVector.size(); index++) {
-            PositionVector currentPosition = arrayListPositionVector.get(index);
-            PositionVector nextPosition = new PositionVector(0,0);
-            if(index+1 < arrayListPositionVector.size()) {
-                nextPosition = arrayListPositionVector.get(index+1);
-            } else {
-                nextPosition = arrayListPositionVector.get(0);
-            }
-
-            // Diffrence between actual Position and next Position
-            PositionVector distanceBetweenTwoPoints = PositionVectorHelper.subtract(nextPosition, currentPosition);
-
-            // Substract the diffrence between two Points and the velocity
-            PositionVector actualVelocity = PositionVectorHelper.subtract(distanceBetweenTwoPoints, velocity);
+    /**
+     * Validates the follower file of the car against the track and compiles it into moves.
+     *
+     * @param track         the track the car drives on
+     * @param trackFile     path of the track file
+     * @param carCharacter  id of the car
+     * @param startPosition start position of the car
+     * @throws InvalidFollowerFileException if the path of the file can not be driven on the track
+     * @throws UncheckedIOException         if the file could not be read
+     */
+    public PathFollower(Track track, String trackFile, String carCharacter, PositionVector startPosition) {
+        File followerFile = StrategyFiles.resolve(StrategyFiles.FOLLOWER_DIRECTORY, trackFile, carCharacter);
+        byte[] moves = PathCompiler.compile(track, followerFile, startPosition);
+        compiledMoves = new PackedMoveReader(ByteBuffer.wrap(moves).asReadOnlyBuffer());
+    }
 
-            Direction direction = switchDirection(actualVelocity);
-            velocity = PositionVectorHelper.add(direction.vector, velocity);
-            directionArrayList.add(direction);
-        }
+    /**
+     * Opens the given follower file.
+     *
+     * @param followerFile  file containing one position per line ("x;y")
+     * @param startPosition start position of the car
+     * @throws UncheckedIOException if the file could not be read
+     */
+    public PathFollower(File followerFile, PositionVector startPosition) {
+        cursor = new MoveFileCursor(followerFile);
+        this.startPosition = startPosition;
+        currentPosition = startPosition;
     }
 
     private Direction switchDirection(PositionVector position) {
@@ -85,13 +82,35 @@ public class PathFollower implements MoveStrategy {
             return Direction.NONE;
     }
 
+    /**
+     * @return the acceleration towards the next position or {@link Direction#NONE} if the path is finished
+     * @throws NumberFormatException if the line is not a position
+     */
     @Override
     public PositionVector.Direction nextMove() {
-        if(directionArrayList.size() < 1) {
+        if (compiledMoves != null) {
+            return compiledMoves.next();
+        }
+        if (finished) {
             return Direction.NONE;
         }
-        Direction direction = directionArrayList.get(0);
-        directionArrayList.remove(0);
+        PositionVector nextPosition;
+        if (cursor.nextLine()) {
+            nextPosition = new PositionVector(cursor.getInt(0, ';'), cursor.getInt(1, ';'));
+        } else {
+            nextPosition = startPosition;
+            finished = true;
+        }
+
+        // Diffrence between actual Position and next Position
+        PositionVector distanceBetweenTwoPoints = PositionVectorHelper.subtract(nextPosition, currentPosition);
+
+        // Substract the diffrence between two Points and the velocity
+        PositionVector actualVelocity = PositionVectorHelper.subtract(distanceBetweenTwoPoints, velocity);
+
+        Direction direction = switchDirection(actualVelocity);
+        velocity = PositionVectorHelper.add(direction.vector, velocity);
+        currentPosition = nextPosition;
         return direction;
     }
 }
@@ -0,0 +1,140 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Car;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.TurnEvaluator;
+
+import java.util.Arrays;
+
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.packState;
+
+/**
+ * Base class of strategies which search the states (x, y, vx, vy) of the car for a route and then drive it.
+ *
+ * <p>The subclass plans a route in {@link #search(long)}: it stores the visited states as search nodes (state,
+ * parent node, direction leading to the state) and creates the plan from the node the route ends on.
+ * States are packed into a single long ({@link ch.zhaw.pm2.racetrack.PositionVectorHelper#packState(int, int,
+ * int, int)}), so the nodes are kept in primitive arrays.</p>
+ * <p>The plan is driven move by move. If the car is not in the planned state at a move, or the next planned
+ * move would crash into a car which has moved since, a new route is planned. If there is no plan,
+ * the car does not accelerate.</p>
+ */
+public abstract class PlanningStrategy implements MoveStrategy {
+    protected static final Direction[] DIRECTIONS = Direction.values();
+    protected static final int INITIAL_CAPACITY = 1024;
+
+    protected final Track track;
+    protected final int carIndex;
+    protected final TurnEvaluator turnEvaluator;
+    private Direction[] plan = new Direction[0];
+    private long[] planStates = new long[0];
+    private int planIndex;
+
+    // search nodes: state, index of the parent node and direction leading to the state
+    protected long[] states;
+    protected int[] parents;
+    protected byte[] directions;
+    protected int size;
+
+    protected PlanningStrategy(Track track, int carIndex) {
+        this.track = track;
+        this.carIndex = carIndex;
+        turnEvaluator = new TurnEvaluator(track);
+    }
+
+    @Override
+    public Direction nextMove() {
+        Car car = track.getCar(carIndex);
+        long state = packState(car.getPositionX(), car.getPositionY(), car.getVelocityX(), car.getVelocityY());
+        if (planIndex >= plan.length || planStates[planIndex] != state || willNextMoveCrash(car)) {
+            plan = new Direction[0];
+            planStates = new long[0];
+            planIndex = 0;
+            search(state);
+        }
+        if (planIndex >= plan.length) {
+            return Direction.NONE;
+        }
+        return plan[planIndex++];
+    }
+
+    /**
+     * Plans a route from the given state. The route is stored with {@link #createPlan(int)},
+     * if no route is stored, the car does not accelerate.
+     *
+     * @param startState the encoded start state
+     */
+    protected abstract void search(long startState);
+
+    /**
+     * @return the amount of moves of the currently planned route which have not been driven yet
+     */
+    public int getRemainingMoves() {
+        return plan.length - planIndex;
+    }
+
+    private boolean willNextMoveCrash(Car car) {
+        int velocityX = car.getVelocityX() + plan[planIndex].vector.getX();
+        int velocityY = car.getVelocityY() + plan[planIndex].vector.getY();
+        return turnEvaluator.evaluate(carIndex, car.getPositionX(), car.getPositionY(),
+            car.getPositionX() + velocityX, car.getPositionY() + velocityY) == TurnEvaluator.Outcome.CRASHED;
+    }
+
+    /**
+     * Removes all search nodes and adds the start node.
+     *
+     * @param startState the encoded start state
+     */
+    protected void resetNodes(long startState) {
+        states = new long[INITIAL_CAPACITY];
+        parents = new int[INITIAL_CAPACITY];
+        directions = new byte[INITIAL_CAPACITY];
+        size = 0;
+        addNode(startState, -1, (byte) 0);
+    }
+
+    /**
+     * Adds a search node.
+     *
+     * @param state     the encoded state
+     * @param parent    index of the node the state is reached from, -1 for the start node
+     * @param direction ordinal of the {@link Direction} leading from the parent to the state
+     * @return the index of the new node
+     */
+    protected int addNode(long state, int parent, byte direction) {
+        if (size == states.length) {
+            states = Arrays.copyOf(states, size * 2);
+            parents = Arrays.copyOf(parents, size * 2);
+            directions = Arrays.copyOf(directions, size * 2);
+        }
+        states[size] = state;
+        parents[size] = parent;
+        directions[size] = direction;
+        return size++;
+    }
+
+    /**
+     * Stores the route from the start node to the given node as plan and frees the search nodes.
+     *
+     * @param lastNode index of the node the route ends on
+     */
+    protected void createPlan(int lastNode) {
+        int length = 0;
+        for (int index = lastNode; parents[index] != -1; index = parents[index]) {
+            length++;
+        }
+        plan = new Direction[length];
+        planStates = new long[length];
+        int step = length - 1;
+        for (int index = lastNode; parents[index] != -1; index = parents[index]) {
+            plan[step] = DIRECTIONS[directions[index]];
+            planStates[step] = states[parents[index]];
+            step--;
+        }
+        planIndex = 0;
+        states = null;
+        parents = null;
+        directions = null;
+    }
+}
@@ -0,0 +1,52 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import java.io.File;
+
+/**
+ * Resolves the files containing the predefined moves of the {@link FileMovement} and {@link PathFollower} strategies.
+ *
+ * <p>The directories {@value #MOVE_LIST_DIRECTORY} and {@value #FOLLOWER_DIRECTORY} are located next to the
+ * directory of the track file, e.g. the move list of car 'a' on {@code tracks/challenge.txt} is
+ * {@code FileMovement/challenge_a.txt}. The files are resolved to absolute paths, so they do not depend on the
+ * working directory of the thread reading them.</p>
+ * <p>A move list may also be stored as {@link PackedMoveList} ({@code FileMovement/challenge_a.rtm}),
+ * which is preferred over the text file.</p>
+ */
+public final class StrategyFiles {
+    public static final String MOVE_LIST_DIRECTORY = "FileMovement";
+    public static final String FOLLOWER_DIRECTORY = "Follower";
+
+    private StrategyFiles() {
+    }
+
+    /**
+     * Returns the move file of a car.
+     *
+     * @param directoryName {@link #MOVE_LIST_DIRECTORY} or {@link #FOLLOWER_DIRECTORY}
+     * @param trackFile     path of the track file
+     * @param carCharacter  id of the car
+     * @return the absolute move file
+     */
+    public static File resolve(String directoryName, String trackFile, String carCharacter) {
+        File track = new File(trackFile).getAbsoluteFile();
+        String trackName = track.getName();
+        if (trackName.endsWith(".txt")) {
+            trackName = trackName.substring(0, trackName.length() - ".txt".length());
+        }
+        File baseDirectory = track.getParentFile().getParentFile();
+        return new File(new File(baseDirectory, directoryName), trackName + "_" + carCharacter + ".txt");
+    }
+
+    /**
+     * Returns the move list of a car, the packed move list if it exists, the text file otherwise.
+     *
+     * @param trackFile    path of the track file
+     * @param carCharacter id of the car
+     * @return the absolute move list file
+     */
+    public static File resolveMoveList(String trackFile, String carCharacter) {
+        File textFile = resolve(MOVE_LIST_DIRECTORY, trackFile, carCharacter);
+        File packedFile = PackedMoveList.getPackedFile(textFile);
+        return packedFile.isFile() ? packedFile : textFile;
+    }
+}
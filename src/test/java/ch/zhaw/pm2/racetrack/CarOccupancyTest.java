@@ -0,0 +1,48 @@
+package ch.zhaw.pm2.racetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CarOccupancyTest {
+    private static final int CAR_COUNT = 100;
+
+    private CarOccupancy occupancy;
+
+    @BeforeEach
+    void initializeOccupancy() {
+        occupancy = new CarOccupancy();
+        for (int car = 0; car < CAR_COUNT; car++) {
+            occupancy.place(car, car * 1024);
+        }
+    }
+
+    @Test
+    void shouldFindCarsByCellAndCellsByCar() {
+        for (int car = 0; car < CAR_COUNT; car++) {
+            assertEquals(car, occupancy.getCar(car * 1024));
+            assertEquals(car * 1024, occupancy.getCell(car));
+        }
+        assertEquals(CarOccupancy.FREE, occupancy.getCar(1));
+        assertEquals(CarOccupancy.FREE, occupancy.getCell(CAR_COUNT));
+    }
+
+    @Test
+    void shouldFreeOldCellWhenCarMoves() {
+        occupancy.place(7, 5);
+        assertEquals(CarOccupancy.FREE, occupancy.getCar(7 * 1024));
+        assertEquals(7, occupancy.getCar(5));
+    }
+
+    @Test
+    void shouldKeepOtherCarsAfterRemoval() {
+        for (int car = 0; car < CAR_COUNT; car += 2) {
+            occupancy.remove(car);
+        }
+        for (int car = 0; car < CAR_COUNT; car++) {
+            int expected = (car % 2 == 0) ? CarOccupancy.FREE : car;
+            assertEquals(expected, occupancy.getCar(car * 1024));
+        }
+    }
+}
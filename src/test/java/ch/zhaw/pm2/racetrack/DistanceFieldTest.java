@@ -0,0 +1,67 @@
+package ch.zhaw.pm2.racetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DistanceFieldTest {
+    private static final File QUARTER_MILE = new File("src/test/resources/quarter-mile.txt");
+    private static final int FINISH_LINE_X = 10;
+
+    private Track track;
+
+    @BeforeEach
+    void initializeTrack() throws FileNotFoundException, InvalidTrackFormatException {
+        track = new Track(QUARTER_MILE);
+    }
+
+    @Test
+    void shouldCountStepsToFinishLine() {
+        DistanceField distanceField = track.getDistanceField();
+        assertEquals(0, distanceField.getDistance(FINISH_LINE_X, 3));
+        assertEquals(1, distanceField.getDistance(FINISH_LINE_X + 1, 2));
+        assertEquals(46, distanceField.getDistance(56, 3));
+        assertEquals(46, track.getCarDistanceToFinish(0));
+    }
+
+    @Test
+    void shouldNotReachFinishLineFromWrongSide() {
+        DistanceField distanceField = track.getDistanceField();
+        assertEquals(DistanceField.UNREACHABLE, distanceField.getDistance(FINISH_LINE_X - 1, 3));
+        assertEquals(DistanceField.UNREACHABLE, distanceField.getDistance(0, 0));
+    }
+
+    @Test
+    void shouldShareDistanceFieldOfSameTrackContent() throws FileNotFoundException, InvalidTrackFormatException {
+        Track otherTrack = new Track(QUARTER_MILE);
+        assertSame(track.getDistanceField(), otherTrack.getDistanceField());
+    }
+
+    @Test
+    void shouldShareDistanceFieldByTerrain(@TempDir Path directory) throws IOException, InvalidTrackFormatException {
+        Track left = createTrack(directory, "left.txt", "#######\n#a    #\n#<<<<<#\n#######\n");
+        Track right = createTrack(directory, "right.txt", "#######\n#    a#\n#<<<<<#\n#######\n");
+        Track otherTerrain = createTrack(directory, "other.txt", "#######\n#a    #\n#>>>>>#\n#######\n");
+        assertEquals(left.getTerrainKey(), right.getTerrainKey());
+        assertSame(left.getDistanceField(), right.getDistanceField());
+        assertSame(left.getTerrainKey(), left.fork().getTerrainKey());
+        assertNotEquals(left.getTerrainKey(), otherTerrain.getTerrainKey());
+        assertNotSame(left.getDistanceField(), otherTerrain.getDistanceField());
+    }
+
+    private static Track createTrack(Path directory, String name, String content)
+        throws IOException, InvalidTrackFormatException {
+        return new Track(Files.writeString(directory.resolve(name), content).toFile());
+    }
+}
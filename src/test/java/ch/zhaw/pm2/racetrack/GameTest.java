@@ -2,9 +2,14 @@ package ch.zhaw.pm2.racetrack;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -68,6 +73,24 @@ public class GameTest {
         assertEquals(posList.get(7), actualPosList.get(7));
     }
 
+    @Test
+    protected void shouldWalkSamePositionsWithPathCursor() {
+        PathCursor cursor = new PathCursor();
+        PositionVector start = new PositionVector(3, 3);
+        for (int endX = -4; endX <= 10; endX++) {
+            for (int endY = -4; endY <= 10; endY++) {
+                List<PositionVector> expected = game.calculatePath(start, new PositionVector(endX, endY));
+                cursor.reset(start.getX(), start.getY(), endX, endY);
+                for (int i = 1; i < expected.size(); i++) {
+                    assertTrue(cursor.next());
+                    assertEquals(expected.get(i), new PositionVector(cursor.getX(), cursor.getY()));
+                    assertEquals(expected.get(i - 1), new PositionVector(cursor.getPreviousX(), cursor.getPreviousY()));
+                }
+                assertFalse(cursor.next());
+            }
+        }
+    }
+
     @Test
     protected void shouldInitializeTrack() throws FileNotFoundException, InvalidTrackFormatException {
 
@@ -111,7 +134,7 @@ public class GameTest {
     protected void shouldReturnCharacterOfRemainingCarOnTrackAfterCrash() {
         game.switchToNextActiveCar();
         game.doCarTurn(PositionVector.Direction.DOWN);
-        assertEquals('d', game.getTrack().getTrackParser().getTrackCharacters().get(game.getTrack().getIndexOnTrackFromPositionVector(new PositionVector(26, 23))));
+        assertEquals('d', game.getTrack().getTrackCharacter(new PositionVector(26, 23)));
     }
 
     @Test
@@ -308,5 +331,236 @@ public class GameTest {
         assertFalse(track.getCar(3).isCrashed());
         assertEquals(3, game.getWinner());
     }
-}
 
+    @Test
+    protected void shouldNotifyListenerOfMoveAndTurnEnd() {
+        initializeTrack(new File("tracks/quarter-mile.txt"));
+        RecordingListener listener = new RecordingListener();
+        game.addListener(listener);
+        game.doCarTurn(PositionVector.Direction.LEFT);
+        assertEquals(List.of("move 0 56;3 -> 55;3 (-1;0)", "turn 0 LEFT"), listener.events);
+    }
+
+    @Test
+    protected void shouldNotifyListenerOfCrashAndWinner() {
+        initializeTrack(new File("tracks/challenge.txt"));
+        game.doCarTurn(PositionVector.Direction.RIGHT);
+        game.switchToNextActiveCar();
+        game.doCarTurn(PositionVector.Direction.RIGHT);
+        game.switchToNextActiveCar();
+        RecordingListener listener = new RecordingListener();
+        game.addListener(listener);
+        game.doCarTurn(PositionVector.Direction.UP);
+        PositionVector crashPosition = track.getCar(0).getPosition();
+        assertEquals(List.of("crash 0 " + crashPosition.getX() + ";" + crashPosition.getY(), "finish 1", "turn 0 UP"),
+            listener.events);
+    }
+
+    @Test
+    protected void shouldNotNotifyRemovedListener() {
+        initializeTrack(new File("tracks/quarter-mile.txt"));
+        RecordingListener removed = new RecordingListener();
+        RecordingListener kept = new RecordingListener();
+        game.addListener(removed);
+        game.addListener(kept);
+        game.removeListener(removed);
+        game.doCarTurn(PositionVector.Direction.NONE);
+        assertTrue(removed.events.isEmpty());
+        assertEquals(List.of("turn 0 NONE"), kept.events);
+    }
+
+    @Test
+    protected void shouldRestoreSnapshotAfterCrash() {
+        initializeTrack(new File("tracks/challenge.txt"));
+        game.doCarTurn(PositionVector.Direction.RIGHT);
+        game.switchToNextActiveCar();
+        long[] snapshot = game.createSnapshot();
+        String trackBefore = track.toString();
+        game.doCarTurn(PositionVector.Direction.RIGHT);
+        game.switchToNextActiveCar();
+        game.doCarTurn(PositionVector.Direction.UP);
+        assertTrue(track.getCar(0).isCrashed());
+        assertEquals(1, game.getWinner());
+
+        game.restoreSnapshot(snapshot);
+        assertEquals(Game.NO_WINNER, game.getWinner());
+        assertEquals(1, game.getCurrentCarIndex());
+        assertFalse(track.getCar(0).isCrashed());
+        assertEquals(new PositionVector(1, 0), track.getCar(0).getVelocity());
+        assertEquals(trackBefore, track.toString());
+        assertArrayEquals(snapshot, game.createSnapshot());
+    }
+
+    @Test
+    protected void shouldUpdateStateHashWithEveryTurn() {
+        initializeTrack(new File("tracks/challenge.txt"));
+        long startHash = game.getStateHash();
+        List<Long> hashes = new ArrayList<>();
+        PositionVector.Direction[] moves = {PositionVector.Direction.RIGHT, PositionVector.Direction.RIGHT,
+            PositionVector.Direction.LEFT, PositionVector.Direction.LEFT, PositionVector.Direction.UP};
+        for (PositionVector.Direction move : moves) {
+            game.doCarTurn(move);
+            assertEquals(game.computeStateHash(), game.getStateHash());
+            hashes.add(game.getStateHash());
+            if (game.getWinner() == Game.NO_WINNER) {
+                game.switchToNextActiveCar();
+                assertEquals(game.computeStateHash(), game.getStateHash());
+                hashes.add(game.getStateHash());
+            }
+        }
+        assertTrue(track.getCar(0).isCrashed());
+        hashes.add(startHash);
+        assertEquals(hashes.size(), hashes.stream().distinct().count());
+    }
+
+    @Test
+    protected void shouldRestoreStateHashWithSnapshot() {
+        initializeTrack(new File("tracks/challenge.txt"));
+        long startHash = game.getStateHash();
+        long[] snapshot = game.createSnapshot();
+        game.doCarTurn(PositionVector.Direction.RIGHT);
+        game.switchToNextActiveCar();
+        assertNotEquals(startHash, game.getStateHash());
+        game.restoreSnapshot(snapshot);
+        assertEquals(startHash, game.getStateHash());
+    }
+
+    @Test
+    protected void shouldWriteSnapshotsToByteBuffer() {
+        initializeTrack(new File("tracks/challenge.txt"));
+        ByteBuffer buffer = ByteBuffer.allocate(2 * game.getSnapshotSize());
+        game.createSnapshot(buffer);
+        long[] startSnapshot = game.createSnapshot();
+        game.doCarTurn(PositionVector.Direction.RIGHT);
+        game.switchToNextActiveCar();
+        game.createSnapshot(buffer);
+        long[] secondSnapshot = game.createSnapshot();
+        long secondHash = game.getStateHash();
+        assertEquals(0, buffer.remaining());
+
+        buffer.flip();
+        game.restoreSnapshot(buffer);
+        assertArrayEquals(startSnapshot, game.createSnapshot());
+        game.restoreSnapshot(buffer);
+        assertArrayEquals(secondSnapshot, game.createSnapshot());
+        assertEquals(secondHash, game.getStateHash());
+        assertThrows(IllegalArgumentException.class, () -> game.restoreSnapshot(buffer));
+    }
+
+    @Test
+    protected void shouldForkIndependentGame() {
+        initializeTrack(new File("tracks/challenge.txt"));
+        game.setStrategy(0, Config.StrategyType.USER, "");
+        game.doCarTurn(PositionVector.Direction.RIGHT);
+        game.switchToNextActiveCar();
+        RecordingListener listener = new RecordingListener();
+        game.addListener(listener);
+        long[] snapshot = game.createSnapshot();
+        String trackBefore = track.toString();
+
+        Game fork = game.fork();
+        assertArrayEquals(snapshot, fork.createSnapshot());
+        assertEquals(game.getStateHash(), fork.getStateHash());
+        assertEquals(trackBefore, fork.getTrack().toString());
+        fork.doCarTurn(PositionVector.Direction.RIGHT);
+        fork.switchToNextActiveCar();
+        fork.doCarTurn(PositionVector.Direction.UP);
+        assertTrue(fork.getTrack().getCar(0).isCrashed());
+        assertEquals(1, fork.getWinner());
+        assertEquals(fork.computeStateHash(), fork.getStateHash());
+
+        assertArrayEquals(snapshot, game.createSnapshot());
+        assertEquals(trackBefore, track.toString());
+        assertTrue(listener.events.isEmpty());
+        assertEquals(Config.StrategyType.USER, fork.getTrack().getCar(0).getStrategyType());
+        assertEquals(PositionVector.Direction.NONE, fork.getTrack().getCar(0).nextMove());
+    }
+
+    @Test
+    protected void shouldSkipCrashedCarsAmongManyCarSlots(@TempDir Path directory) throws IOException {
+        int carCount = 300;
+        String content = "#".repeat(carCount + 2) + "\n#" + "*".repeat(carCount) + "#\n#" + " ".repeat(carCount)
+            + "#\n" + "#".repeat(carCount + 2) + "\n";
+        initializeTrack(Files.writeString(directory.resolve("slots.txt"), content).toFile());
+        assertEquals(carCount, track.getCarCount());
+        // every even car crashes into the wall above it
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            assertEquals(carIndex, game.getCurrentCarIndex());
+            game.doCarTurn(carIndex % 2 == 0 ? PositionVector.Direction.UP : PositionVector.Direction.NONE);
+            game.switchToNextActiveCar();
+        }
+        long[] snapshot = game.createSnapshot();
+        for (int carIndex = 1; carIndex < carCount - 1; carIndex += 2) {
+            assertEquals(carIndex, game.getCurrentCarIndex());
+            assertEquals(Game.NO_WINNER, game.getWinner());
+            game.doCarTurn(PositionVector.Direction.UP);
+            game.switchToNextActiveCar();
+        }
+        assertEquals(carCount - 1, game.getWinner());
+
+        game.restoreSnapshot(snapshot);
+        assertEquals(1, game.getCurrentCarIndex());
+        game.doCarTurn(PositionVector.Direction.UP);
+        game.switchToNextActiveCar();
+        assertEquals(3, game.getCurrentCarIndex());
+        assertEquals(game.computeStateHash(), game.getStateHash());
+    }
+
+    @Test
+    protected void shouldCountMovableCars(@TempDir Path directory) throws IOException {
+        int carCount = 100;
+        String content = "#".repeat(carCount + 2) + "\n#" + "*".repeat(carCount) + "#\n#" + " ".repeat(carCount)
+            + "#\n" + "#".repeat(carCount + 2) + "\n";
+        initializeTrack(Files.writeString(directory.resolve("slots.txt"), content).toFile());
+        // cars without strategy can not move
+        assertFalse(game.existsMovableCar());
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            game.setStrategy(carIndex, carIndex % 2 == 0 ? Config.StrategyType.USER : Config.StrategyType.DO_NOT_MOVE, "");
+        }
+        long[] snapshot = game.createSnapshot();
+        // every movable car crashes into the wall above it, the other cars stay
+        for (int carIndex = 0; carIndex < carCount; carIndex++) {
+            assertEquals(carIndex < carCount - 1, game.existsMovableCar());
+            game.doCarTurn(carIndex % 2 == 0 ? PositionVector.Direction.UP : PositionVector.Direction.NONE);
+            game.switchToNextActiveCar();
+        }
+        assertFalse(game.existsMovableCar());
+        assertEquals(Game.NO_WINNER, game.getWinner());
+        assertFalse(game.fork().existsMovableCar());
+
+        game.setMoveStrategy(1, Config.StrategyType.USER, () -> PositionVector.Direction.NONE);
+        assertTrue(game.existsMovableCar());
+        game.setStrategy(1, Config.StrategyType.DO_NOT_MOVE, "");
+        assertFalse(game.existsMovableCar());
+        game.setMoveStrategy(1, Config.StrategyType.USER, () -> PositionVector.Direction.NONE);
+        game.setMoveStrategy(1, Config.StrategyType.USER, null);
+        assertFalse(game.existsMovableCar());
+        game.restoreSnapshot(snapshot);
+        assertTrue(game.existsMovableCar());
+    }
+
+    private static class RecordingListener implements GameListener {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onMove(int carIndex, int fromX, int fromY, int toX, int toY, int velocityX, int velocityY) {
+            events.add("move " + carIndex + " " + fromX + ";" + fromY + " -> " + toX + ";" + toY
+                + " (" + velocityX + ";" + velocityY + ")");
+        }
+
+        @Override
+        public void onCrash(int carIndex, int x, int y) {
+            events.add("crash " + carIndex + " " + x + ";" + y);
+        }
+
+        @Override
+        public void onFinish(int winnerIndex) {
+            events.add("finish " + winnerIndex);
+        }
+
+        @Override
+        public void onTurnEnd(int carIndex, PositionVector.Direction acceleration) {
+            events.add("turn " + carIndex + " " + acceleration);
+        }
+    }
+}
@@ -3,9 +3,13 @@ package ch.zhaw.pm2.racetrack;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PositionVectorTest {
@@ -26,4 +30,46 @@ class PositionVectorTest {
         assertTrue(map.containsKey(a), "Test with same object");
         assertTrue(map.containsKey(b), "Test with equal object");
     }
+
+    @Test
+    void testNotEqualToForeignTypes() {
+        PositionVector a = new PositionVector(3, 5);
+        assertFalse(a.equals("(X:3, Y:5)"));
+        assertFalse(a.equals(null));
+    }
+
+    @Test
+    void testHashCodeWithoutCollisionsOnDiagonalsAndMirroredPositions() {
+        Set<Integer> hashCodes = new HashSet<>();
+        for (int x = -100; x < 100; x++) {
+            for (int y = -100; y < 100; y++) {
+                hashCodes.add(new PositionVector(x, y).hashCode());
+            }
+        }
+        assertEquals(200 * 200, hashCodes.size());
+        assertNotEquals(new PositionVector(3, 5).hashCode(), new PositionVector(5, 3).hashCode());
+    }
+
+    @Test
+    void testPackAndUnpack() {
+        int packed = PositionVectorHelper.pack(-3, 32767);
+        assertEquals(-3, PositionVectorHelper.getPackedX(packed));
+        assertEquals(32767, PositionVectorHelper.getPackedY(packed));
+        assertEquals(new PositionVector(-3, 32767), PositionVectorHelper.unpack(packed));
+        assertEquals(PositionVectorHelper.pack(-2, -1), PositionVectorHelper.addPacked(
+            PositionVectorHelper.pack(1, -4), PositionVectorHelper.pack(-3, 3)));
+        assertEquals(PositionVectorHelper.pack(4, -7), PositionVectorHelper.subtractPacked(
+            PositionVectorHelper.pack(1, -4), PositionVectorHelper.pack(-3, 3)));
+    }
+
+    @Test
+    void testPackAndUnpackState() {
+        long state = PositionVectorHelper.packState(1999, 7, -3, 12);
+        assertEquals(1999, PositionVectorHelper.getStateX(state));
+        assertEquals(7, PositionVectorHelper.getStateY(state));
+        assertEquals(-3, PositionVectorHelper.getStateVelocityX(state));
+        assertEquals(12, PositionVectorHelper.getStateVelocityY(state));
+        assertEquals(PositionVectorHelper.pack(1999, 7), PositionVectorHelper.getStatePosition(state));
+        assertEquals(PositionVectorHelper.pack(-3, 12), PositionVectorHelper.getStateVelocity(state));
+    }
 }
@@ -3,11 +3,16 @@ package ch.zhaw.pm2.racetrack;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 public class TrackTest {
     private Track validTestTrack;
@@ -25,9 +30,18 @@ public class TrackTest {
 
     @Test
     void shouldReturnCorrectPositionVectorFromList() {
-        assertEquals(new PositionVector(24, 0), validTestTrack.getTrackPositionVectors().get(24));
-        assertEquals(new PositionVector(7, 1), validTestTrack.getTrackPositionVectors().get(32));
-        assertEquals(new PositionVector(4, 4), validTestTrack.getTrackPositionVectors().get(104));
+        assertEquals(new PositionVector(24, 0), validTestTrack.getPositionVectorFromIndex(24));
+        assertEquals(new PositionVector(7, 1), validTestTrack.getPositionVectorFromIndex(32));
+        assertEquals(new PositionVector(4, 4), validTestTrack.getPositionVectorFromIndex(104));
+    }
+
+    @Test
+    void shouldReturnSameSpaceTypeForCoordinatesAndPositionVector() {
+        assertEquals(Config.SpaceType.WALL, validTestTrack.getSpaceType(0, 0));
+        assertEquals(Config.SpaceType.FINISH_RIGHT, validTestTrack.getSpaceType(11, 2));
+        assertEquals(Config.SpaceType.CAR, validTestTrack.getSpaceType(10, 3));
+        assertEquals(validTestTrack.getSpaceType(5, 4), validTestTrack.getSpaceType(new PositionVector(5, 4)));
+        assertEquals(-1, validTestTrack.getIndexOnTrackFromPositionVector(new PositionVector(25, 0)));
     }
 
     @Test
@@ -41,6 +55,35 @@ public class TrackTest {
             validTestTrack.toString());
     }
 
+    @Test
+    void shouldLoadSameTrackFromCompiledTrackFile(@TempDir Path directory) throws IOException, InvalidTrackFormatException {
+        File trackFile = directory.resolve("trackForTest.txt").toFile();
+        Files.copy(new File("src/test/resources/trackForTest.txt").toPath(), trackFile.toPath());
+        Track parsedTrack = new Track(trackFile);
+        File compiledFile = CompiledTrack.getCompiledFile(trackFile);
+        assertTrue(compiledFile.exists());
+
+        Track compiledTrack = new Track(trackFile);
+        assertEquals(parsedTrack.toString(), compiledTrack.toString());
+        assertEquals(parsedTrack.getContentHash(), compiledTrack.getContentHash());
+        assertEquals(parsedTrack.getCarCount(), compiledTrack.getCarCount());
+        for (int car = 0; car < parsedTrack.getCarCount(); car++) {
+            assertEquals(parsedTrack.getCarId(car), compiledTrack.getCarId(car));
+            assertEquals(parsedTrack.getCarPos(car), compiledTrack.getCarPos(car));
+        }
+    }
+
+    @Test
+    void shouldIgnoreCompiledTrackFileOfChangedTrack(@TempDir Path directory) throws IOException, InvalidTrackFormatException {
+        File trackFile = directory.resolve("trackForTest.txt").toFile();
+        Files.copy(new File("src/test/resources/trackForTest.txt").toPath(), trackFile.toPath());
+        new Track(trackFile);
+        Files.copy(new File("src/test/resources/trackForTest_NotSurroundedByWALLS.txt").toPath(), trackFile.toPath(),
+            StandardCopyOption.REPLACE_EXISTING);
+
+        assertThrows(InvalidTrackFormatException.class, () -> new Track(trackFile));
+    }
+
     @Test
     void shouldReturnCarInCorrectInitializingOrder() {
         assertEquals('B', validTestTrack.getCarId(0));
@@ -58,10 +101,24 @@ public class TrackTest {
         validTestTrack.updateCarOnTrack(newPosition,2);
         //Check if new position if from correct SpaceType and check if correct character is displayed
         assertEquals(Config.SpaceType.CAR, validTestTrack.getSpaceType(newPosition));
-        assertEquals('A', validTestTrack.getTrackParser().getTrackCharacters().get(validTestTrack.getIndexOnTrackFromPositionVector(newPosition)));
+        assertEquals('A', validTestTrack.getTrackCharacter(newPosition));
         //Check if old position is from correct SpaceType and check if correct character is displayed
         assertEquals(Config.SpaceType.TRACK, validTestTrack.getSpaceType(oldPosition));
-        assertEquals(' ', validTestTrack.getTrackParser().getTrackCharacters().get(validTestTrack.getIndexOnTrackFromPositionVector(oldPosition)));
+        assertEquals(' ', validTestTrack.getTrackCharacter(oldPosition));
+    }
+
+    @Test
+    void shouldKeepTerrainUnderCar() {
+        PositionVector finishPosition = new PositionVector(11, 2);
+        validTestTrack.updateCarOnTrack(finishPosition, 2);
+        assertEquals(Config.SpaceType.CAR, validTestTrack.getSpaceType(finishPosition));
+        assertEquals(Config.SpaceType.FINISH_RIGHT, validTestTrack.getTerrainType(11, 2));
+        assertEquals(2, validTestTrack.getCarIndexAt(11, 2));
+
+        validTestTrack.updateCarOnTrack(new PositionVector(10, 2), 2);
+        assertEquals(Config.SpaceType.FINISH_RIGHT, validTestTrack.getSpaceType(finishPosition));
+        assertEquals('>', validTestTrack.getTrackCharacter(finishPosition));
+        assertFalse(validTestTrack.isOccupied(11, 2));
     }
 
     @Test
@@ -72,10 +129,10 @@ public class TrackTest {
         validTestTrack.updateCarOnTrack(newPosition,2);
         //Check if new position if from correct SpaceType and check if correct character is displayed
         assertEquals(Config.SpaceType.CAR, validTestTrack.getSpaceType(newPosition));
-        assertEquals('B', validTestTrack.getTrackParser().getTrackCharacters().get(validTestTrack.getIndexOnTrackFromPositionVector(newPosition)));
+        assertEquals('B', validTestTrack.getTrackCharacter(newPosition));
         //Check if old position is from correct SpaceType and check if correct character is displayed
         assertEquals(Config.SpaceType.TRACK, validTestTrack.getSpaceType(oldPosition));
-        assertEquals(' ', validTestTrack.getTrackParser().getTrackCharacters().get(validTestTrack.getIndexOnTrackFromPositionVector(oldPosition)));
+        assertEquals(' ', validTestTrack.getTrackCharacter(oldPosition));
     }
 
     @Test
@@ -102,6 +159,18 @@ public class TrackTest {
         assertTrue(actualMessage.contains(expectedMessage));
     }
 
+    @Test
+    void shouldThrowInvalidTrackFormatExceptionForATrackWithOpenRightBorder() {
+        InvalidTrackFormatException invalidTrackFormatException = assertThrows(InvalidTrackFormatException.class, () -> {
+            File trackFile = new File("src/test/resources/trackForTest_openRightBorder.txt");
+            new Track(trackFile);
+        });
+
+        String expectedMessage = "This Track-File is invalid - Track is not surrounded by WALLS.";
+        String actualMessage = invalidTrackFormatException.toString();
+        assertTrue(actualMessage.contains(expectedMessage));
+    }
+
     @Test
     void shouldThrowInvalidTrackFormatExceptionForATrackWithTooManyCars() {
         InvalidTrackFormatException invalidTrackFormatException = assertThrows(InvalidTrackFormatException.class, () -> {
@@ -114,6 +183,31 @@ public class TrackTest {
         assertTrue(actualMessage.contains(expectedMessage));
     }
 
+    @Test
+    void shouldCreateCarsForCarSlots(@TempDir Path directory) throws IOException, InvalidTrackFormatException {
+        int slots = Config.MAX_CARS * 20;
+        String content = "#".repeat(slots + 4) + "\n#a" + "*".repeat(slots) + "b#\n#" + " ".repeat(slots + 2) + "#\n"
+            + "#".repeat(slots + 4) + "\n";
+        Track track = new Track(Files.writeString(directory.resolve("slots.txt"), content).toFile());
+        assertEquals(slots + 2, track.getCarCount());
+        assertEquals("a", track.getCar(0).getName());
+        assertEquals("*1", track.getCar(1).getName());
+        assertEquals("*" + slots, track.getCar(slots).getName());
+        assertEquals('*', track.getCarId(slots));
+        assertEquals("b", track.getCar(slots + 1).getName());
+        assertEquals(slots, track.getCarIndexAt(slots + 1, 1));
+        assertEquals(content.trim(), track.toString());
+    }
+
+    @Test
+    void shouldThrowInvalidTrackFormatExceptionForATrackWithTooManyCarSlots(@TempDir Path directory) throws IOException {
+        int slots = Config.MAX_CAR_SLOTS + 1;
+        String content = "#".repeat(slots + 2) + "\n#" + "*".repeat(slots) + "#\n" + "#".repeat(slots + 2) + "\n";
+        File trackFile = Files.writeString(directory.resolve("slots.txt"), content).toFile();
+        assertThrows(InvalidTrackFormatException.class, () -> new Track(trackFile));
+        assertFalse(CompiledTrack.getCompiledFile(trackFile).exists());
+    }
+
     @Test
     void shouldThrowInvalidTrackFormatExceptionForATrackWithATooLowGridHeight() {
         InvalidTrackFormatException invalidTrackFormatException = assertThrows(InvalidTrackFormatException.class, () -> {
@@ -0,0 +1,98 @@
+package ch.zhaw.pm2.racetrack.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveCollectionsTest {
+    private static final int OPERATIONS = 100_000;
+    private static final int KEY_RANGE = 2_000;
+    private static final int MISSING = -1;
+
+    @Test
+    void longSetShouldBehaveLikeHashSet() {
+        Random random = new Random(42);
+        LongSet set = new LongSet();
+        Set<Long> expected = new HashSet<>();
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            long value = random.nextInt(KEY_RANGE) - KEY_RANGE / 2;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (long value = -KEY_RANGE; value < KEY_RANGE; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+
+    @Test
+    void intIntMapShouldBehaveLikeHashMap() {
+        Random random = new Random(42);
+        IntIntMap map = new IntIntMap(MISSING);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            int key = random.nextInt(KEY_RANGE) - KEY_RANGE / 2;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, MISSING), map.remove(key));
+                expected.remove(key);
+            } else {
+                Integer previous = expected.put(key, operation);
+                assertEquals(previous == null ? MISSING : previous, map.put(key, operation));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -KEY_RANGE; key < KEY_RANGE; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.getOrDefault(key, MISSING), map.get(key));
+        }
+    }
+
+    @Test
+    void longIntMapShouldBehaveLikeHashMap() {
+        Random random = new Random(42);
+        LongIntMap map = new LongIntMap(MISSING);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+            long key = (long) (random.nextInt(KEY_RANGE) - KEY_RANGE / 2) << 32;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, MISSING), map.remove(key));
+                expected.remove(key);
+            } else {
+                Integer previous = expected.put(key, operation);
+                assertEquals(previous == null ? MISSING : previous, map.put(key, operation));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -KEY_RANGE; key < KEY_RANGE; key++) {
+            assertEquals(expected.getOrDefault(key << 32, MISSING), map.get(key << 32));
+        }
+    }
+
+    @Test
+    void shouldBeEmptyAfterClear() {
+        LongSet set = new LongSet();
+        IntIntMap map = new IntIntMap(MISSING);
+        for (int value = 0; value < 100; value++) {
+            set.add(value);
+            map.put(value, value);
+        }
+        set.clear();
+        map.clear();
+        assertEquals(0, set.size());
+        assertEquals(0, map.size());
+        assertFalse(set.contains(0));
+        assertEquals(MISSING, map.get(0));
+        assertTrue(set.add(0));
+    }
+}
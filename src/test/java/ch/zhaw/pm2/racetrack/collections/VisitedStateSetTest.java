@@ -0,0 +1,67 @@
+package ch.zhaw.pm2.racetrack.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static ch.zhaw.pm2.racetrack.PositionVectorHelper.packState;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VisitedStateSetTest {
+
+    @Test
+    void shouldDeriveMaxSpeedFromTrackLength() {
+        // 3 inner spaces: accelerating to 1 and 2 needs 1 + 2 spaces
+        assertEquals(0, VisitedStateSet.getMaxSpeed(3));
+        assertEquals(1, VisitedStateSet.getMaxSpeed(4));
+        assertEquals(2, VisitedStateSet.getMaxSpeed(6));
+        assertEquals(2, VisitedStateSet.getMaxSpeed(8));
+        assertEquals(3, VisitedStateSet.getMaxSpeed(9));
+    }
+
+    @Test
+    void shouldStoreEveryStateOnce() {
+        VisitedStateSet set = VisitedStateSet.forTrack(20, 10);
+        int added = 0;
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 20; x++) {
+                for (int velocity = -4; velocity <= 4; velocity++) {
+                    assertTrue(set.add(packState(x, y, velocity, -velocity)));
+                    added++;
+                }
+            }
+        }
+        assertEquals(added, set.size());
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 20; x++) {
+                for (int velocity = -4; velocity <= 4; velocity++) {
+                    assertTrue(set.contains(packState(x, y, velocity, -velocity)));
+                    assertFalse(set.add(packState(x, y, velocity, -velocity)));
+                    assertFalse(set.contains(packState(x, y, velocity, 1 - velocity)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldStoreStatesOutsideOfBounds() {
+        VisitedStateSet set = VisitedStateSet.forTrack(20, 10);
+        long fastState = packState(5, 5, 100, 0);
+        long outsideState = packState(25, -1, 0, 0);
+        assertTrue(set.add(fastState));
+        assertTrue(set.add(outsideState));
+        assertTrue(set.contains(fastState));
+        assertTrue(set.contains(outsideState));
+        assertFalse(set.add(fastState));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void shouldFallBackToHashSetForHugeTracks() {
+        VisitedStateSet set = VisitedStateSet.forTrack(10_000, 10_000);
+        long state = packState(9_000, 9_000, -3, 7);
+        assertTrue(set.add(state));
+        assertTrue(set.contains(state));
+        assertFalse(set.contains(packState(9_000, 9_000, -3, 6)));
+    }
+}
@@ -0,0 +1,101 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Config.StrategyType;
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RaceReplayerTest {
+    private static final File QUARTER_MILE = new File("tracks/quarter-mile.txt");
+    private static final File CHALLENGE = new File("tracks/challenge.txt");
+    // both cars drive one space to the left and back
+    private static final Direction[] SHUTTLE = {Direction.LEFT, Direction.RIGHT, Direction.RIGHT, Direction.LEFT};
+    private static final int SHUTTLE_TURNS = 2 * RaceReplayer.CHECKPOINT_INTERVAL + 100;
+
+    private Game game;
+    private RaceRecorder recorder;
+    private List<long[]> snapshots;
+
+    @BeforeEach
+    void recordRace() throws FileNotFoundException, InvalidTrackFormatException {
+        game = RaceRunner.createGame(QUARTER_MILE, List.of(StrategyType.DO_NOT_MOVE, StrategyType.DO_NOT_MOVE));
+        recorder = new RaceRecorder(game);
+        snapshots = new ArrayList<>();
+        snapshots.add(game.createSnapshot());
+        for (int turn = 0; turn < SHUTTLE_TURNS; turn++) {
+            doTurn(SHUTTLE[turn / 2 % SHUTTLE.length]);
+        }
+        // car A drives down into car B
+        doTurn(Direction.DOWN);
+        doTurn(Direction.NONE);
+        doTurn(Direction.DOWN);
+    }
+
+    private void doTurn(Direction direction) {
+        game.doCarTurn(direction);
+        game.switchToNextActiveCar();
+        snapshots.add(game.createSnapshot());
+    }
+
+    @Test
+    void shouldReplayRecordedRace(@TempDir Path directory) throws IOException, InvalidTrackFormatException {
+        assertEquals(1, game.getWinner());
+        File file = directory.resolve("race" + RaceRecording.FILE_EXTENSION).toFile();
+        recorder.getRecording().write(file);
+        RaceRecording recording = RaceRecording.read(file);
+        assertEquals(List.of(StrategyType.DO_NOT_MOVE, StrategyType.DO_NOT_MOVE), recording.getStrategyTypes());
+        assertEquals(snapshots.size() - 1, recording.getTurnCount());
+
+        RaceReplayer replayer = new RaceReplayer(QUARTER_MILE, recording);
+        replayer.replayAll();
+        assertEquals(1, replayer.getGame().getWinner());
+        assertEquals(game.getTrack().toString(), replayer.getGame().getTrack().toString());
+        assertArrayEquals(game.createSnapshot(), replayer.getGame().createSnapshot());
+    }
+
+    @Test
+    void shouldSeekForwardAndBackward() throws FileNotFoundException, InvalidTrackFormatException {
+        RaceReplayer replayer = new RaceReplayer(QUARTER_MILE, recorder.getRecording());
+        int[] targets = {snapshots.size() - 1, 3, RaceReplayer.CHECKPOINT_INTERVAL * 2 + 7, 0,
+            RaceReplayer.CHECKPOINT_INTERVAL, RaceReplayer.CHECKPOINT_INTERVAL - 1, snapshots.size() - 2};
+        for (int target : targets) {
+            replayer.seek(target);
+            assertEquals(target, replayer.getTurn());
+            assertArrayEquals(snapshots.get(target), replayer.getGame().createSnapshot(), "turn " + target);
+        }
+        assertThrows(IllegalArgumentException.class, () -> replayer.seek(snapshots.size()));
+    }
+
+    @Test
+    void shouldRejectUnknownStrategyType(@TempDir Path directory) throws IOException {
+        File file = directory.resolve("race" + RaceRecording.FILE_EXTENSION).toFile();
+        recorder.getRecording().write(file);
+        byte[] content = Files.readAllBytes(file.toPath());
+        // magic, track hash and car count precede the strategy type of the first car
+        content[Integer.BYTES + Long.BYTES + Integer.BYTES] = 100;
+        Files.write(file.toPath(), content);
+        IOException exception = assertThrows(IOException.class, () -> RaceRecording.read(file));
+        assertTrue(exception.getMessage().contains("unknown strategy type 100"), exception.getMessage());
+    }
+
+    @Test
+    void shouldRejectOtherTrack() {
+        assertThrows(IllegalArgumentException.class, () -> new RaceReplayer(CHALLENGE, recorder.getRecording()));
+    }
+}
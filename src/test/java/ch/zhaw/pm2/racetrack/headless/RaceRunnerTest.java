@@ -0,0 +1,49 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Config.StrategyType;
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RaceRunnerTest {
+    private static final File QUARTER_MILE = new File("tracks/quarter-mile.txt");
+
+    @Test
+    void shouldFindWinnerWithMoveList() throws FileNotFoundException, InvalidTrackFormatException {
+        RaceResult result = RaceRunner.run(QUARTER_MILE, List.of(StrategyType.MOVE_LIST, StrategyType.MOVE_LIST), 1000);
+        assertEquals(RaceResult.Outcome.WINNER, result.getOutcome());
+        assertEquals(0, result.getWinner());
+        assertEquals('A', result.getWinnerId());
+        assertEquals(19, result.getTurns());
+        assertTrue(result.getCrashedCars().isEmpty());
+    }
+
+    @Test
+    void shouldStopAtTurnLimit() throws FileNotFoundException, InvalidTrackFormatException {
+        RaceResult result = RaceRunner.run(QUARTER_MILE, List.of(StrategyType.PATH_FOLLOWER, StrategyType.DO_NOT_MOVE), 5);
+        assertEquals(RaceResult.Outcome.TURN_LIMIT, result.getOutcome());
+        assertEquals(Game.NO_WINNER, result.getWinner());
+        assertEquals(5, result.getTurns());
+    }
+
+    @Test
+    void shouldStopIfNoCarCanMove() throws FileNotFoundException, InvalidTrackFormatException {
+        RaceResult result = RaceRunner.run(QUARTER_MILE, List.of(StrategyType.DO_NOT_MOVE, StrategyType.DO_NOT_MOVE), 1000);
+        assertEquals(RaceResult.Outcome.NO_MOVABLE_CAR, result.getOutcome());
+        assertEquals(0, result.getTurns());
+    }
+
+    @Test
+    void shouldRejectUserStrategy() {
+        assertThrows(IllegalArgumentException.class,
+            () -> RaceRunner.run(QUARTER_MILE, List.of(StrategyType.USER, StrategyType.MOVE_LIST), 1000));
+    }
+}
@@ -0,0 +1,68 @@
+package ch.zhaw.pm2.racetrack.headless;
+
+import ch.zhaw.pm2.racetrack.Config.StrategyType;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TournamentTest {
+
+    @Test
+    void shouldRunEveryStrategyAssignment() throws FileNotFoundException, InvalidTrackFormatException {
+        Tournament tournament = new Tournament(List.of(new File("tracks/quarter-mile.txt")),
+            List.of(StrategyType.DO_NOT_MOVE, StrategyType.MOVE_LIST), 1000);
+        assertEquals(4, tournament.getRaces().size());
+
+        Leaderboard leaderboard = tournament.run(new ForkJoinPool(4));
+        assertEquals(4, leaderboard.getRaces());
+        assertEquals(0, leaderboard.getFailedRaces());
+        for (TournamentRace race : tournament.getRaces()) {
+            assertNotNull(race.getResult());
+        }
+
+        Leaderboard.Entry best = leaderboard.getEntries().get(0);
+        assertEquals(StrategyType.MOVE_LIST, best.getStrategyType());
+        assertEquals(4, best.getEntries());
+        assertEquals(3, best.getWins());
+    }
+
+    @Test
+    void shouldParseStrategyTypes() {
+        assertEquals(List.of(StrategyType.MOVE_LIST, StrategyType.A_STAR),
+            Tournament.parseStrategyTypes("MOVE_LIST, A_STAR"));
+        assertThrows(IllegalArgumentException.class, () -> Tournament.parseStrategyTypes("MOVE_LIST,FASTEST"));
+        assertFalse(Tournament.DEFAULT_STRATEGY_TYPES.contains(StrategyType.USER));
+    }
+
+    @Test
+    void shouldSkipTrackWithTooManyAssignments(@TempDir Path directory)
+        throws IOException, InvalidTrackFormatException {
+        String content = "##########\n#a****** #\n#^^^^^^^^#\n##########\n";
+        File slotTrack = Files.writeString(directory.resolve("slots.txt"), content).toFile();
+        File quarterMile = new File("tracks/quarter-mile.txt");
+        Tournament tournament = new Tournament(List.of(quarterMile, slotTrack), Tournament.DEFAULT_STRATEGY_TYPES,
+            1000);
+        assertEquals(List.of(slotTrack), tournament.getSkippedTracks());
+        assertEquals(Tournament.DEFAULT_STRATEGY_TYPES.size() * Tournament.DEFAULT_STRATEGY_TYPES.size(),
+            tournament.getRaces().size());
+    }
+
+    @Test
+    void shouldRejectUserStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(List.of(new File("tracks/quarter-mile.txt")),
+            List.of(StrategyType.MOVE_LIST, StrategyType.USER), 1000));
+    }
+}
@@ -0,0 +1,69 @@
+package ch.zhaw.pm2.racetrack.render;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IncrementalRendererTest {
+    private static final String CLEAR = "\u001B[2J";
+
+    private Game game;
+    private Track track;
+    private IncrementalRenderer renderer;
+
+    @BeforeEach
+    void initializeGame() throws FileNotFoundException, InvalidTrackFormatException {
+        track = new Track(new File("src/test/resources/quarter-mile.txt"));
+        game = new Game();
+        game.setTrack(track);
+        renderer = new IncrementalRenderer();
+    }
+
+    @Test
+    void shouldDrawWholeTrackOnFirstFrame() {
+        String output = renderer.render(track);
+        assertTrue(output.contains(CLEAR));
+        assertTrue(renderer.isLastFrameFull());
+        for (String line : track.toString().split("\n")) {
+            assertTrue(output.contains(line));
+        }
+    }
+
+    @Test
+    void shouldOnlyDrawChangedSpacesOfMovedCar() {
+        renderer.render(track);
+        // car A on (56, 3) moves to (55, 3)
+        game.doCarTurn(Direction.LEFT);
+        String output = renderer.render(track);
+        assertFalse(renderer.isLastFrameFull());
+        assertEquals(2, renderer.getLastFrameCellCount());
+        assertFalse(output.contains(CLEAR));
+        // old space first, then the new space, rows and columns of the terminal are one-based
+        assertTrue(output.startsWith("\u001B[4;57H \u001B[4;56HA"));
+    }
+
+    @Test
+    void shouldDrawNothingIfNothingChanged() {
+        renderer.render(track);
+        game.doCarTurn(Direction.NONE);
+        renderer.render(track);
+        assertEquals(0, renderer.getLastFrameCellCount());
+    }
+
+    @Test
+    void shouldDrawWholeTrackAfterInvalidate() {
+        renderer.render(track);
+        renderer.invalidate();
+        assertTrue(renderer.render(track).contains(CLEAR));
+    }
+}
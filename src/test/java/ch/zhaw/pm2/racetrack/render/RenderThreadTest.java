@@ -0,0 +1,84 @@
+package ch.zhaw.pm2.racetrack.render;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RenderThreadTest {
+    private static final int FRAMES = 200;
+
+    private Game game;
+    private Track track;
+
+    @BeforeEach
+    void initializeGame() throws FileNotFoundException, InvalidTrackFormatException {
+        track = new Track(new File("src/test/resources/quarter-mile.txt"));
+        game = new Game();
+        game.setTrack(track);
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenGameGoesOn() {
+        TrackSnapshot snapshot = TrackSnapshot.of(track, 0);
+        String before = track.toString();
+        game.doCarTurn(Direction.LEFT);
+        assertEquals(before, snapshot.toString());
+        assertNotEquals(before, track.toString());
+        assertEquals(track.toString(), TrackSnapshot.of(track, 0).toString());
+    }
+
+    @Test
+    void shouldDropIntermediateFramesAndShowLastFrame() throws InterruptedException {
+        List<TrackSnapshot> shown = new CopyOnWriteArrayList<>();
+        TrackSnapshot last = null;
+        try (RenderThread renderThread = new RenderThread(snapshot -> {
+            shown.add(snapshot);
+            sleep(5);
+        }, 100)) {
+            for (int frame = 0; frame < FRAMES; frame++) {
+                last = TrackSnapshot.of(track, 0);
+                renderThread.submit(last);
+            }
+            renderThread.awaitFrames();
+            assertSame(last, shown.get(shown.size() - 1));
+            assertTrue(renderThread.getDroppedFrames() > 0);
+            assertEquals(FRAMES, renderThread.getShownFrames() + renderThread.getDroppedFrames());
+        }
+    }
+
+    @Test
+    void shouldKeepInterruptStatusWhenClosing() {
+        RenderThread renderThread = new RenderThread(snapshot -> sleep(50), 100);
+        renderThread.submit(TrackSnapshot.of(track, 0));
+        Thread.currentThread().interrupt();
+        renderThread.close();
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    void shouldRejectInvalidFrameRate() {
+        assertThrows(IllegalArgumentException.class, () -> new RenderThread(snapshot -> { }, 0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
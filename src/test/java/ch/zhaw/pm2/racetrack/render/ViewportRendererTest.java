@@ -0,0 +1,76 @@
+package ch.zhaw.pm2.racetrack.render;
+
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ViewportRendererTest {
+    private static final int CAR_A = 0;
+    private static final int CAR_B = 1;
+
+    private Game game;
+    private Track track;
+    private String[] trackLines;
+
+    @BeforeEach
+    void initializeGame() throws FileNotFoundException, InvalidTrackFormatException {
+        track = new Track(new File("src/test/resources/quarter-mile.txt"));
+        game = new Game();
+        game.setTrack(track);
+        trackLines = track.toString().split("\n");
+    }
+
+    @Test
+    void shouldShowWindowAroundCarClampedToTrack() {
+        ViewportRenderer renderer = new ViewportRenderer(20, 5);
+        String[] lines = renderer.renderText(track, CAR_A).split("\n");
+        // car A is on (56, 3), the window can not reach beyond the right border at 60
+        assertEquals(40, renderer.getOriginX());
+        assertEquals(1, renderer.getOriginY());
+        assertEquals(5, lines.length);
+        for (int y = 0; y < lines.length; y++) {
+            assertEquals(trackLines[y + 1].substring(40, 60), lines[y]);
+        }
+    }
+
+    @Test
+    void shouldShowWholeTrackIfItFitsTheViewport() {
+        ViewportRenderer renderer = new ViewportRenderer(100, 100);
+        assertEquals(track.toString(), renderer.renderText(track, CAR_B));
+    }
+
+    @Test
+    void shouldShowCarsAndFinishLineOnMinimap() {
+        ViewportRenderer renderer = new ViewportRenderer(10, 3, 15, 3);
+        String[] lines = renderer.renderText(track, CAR_A).split("\n");
+        assertEquals(3, lines.length);
+        // viewport, one space gap, minimap with blocks of 4 x 3 spaces
+        assertEquals(10 + 1 + 15, lines[0].length());
+        String minimap = lines[1].substring(11);
+        assertEquals('<', minimap.charAt(10 / 4));
+        // car A on (56, 3) and car B on (56, 5) share a block
+        assertTrue("A@".indexOf(minimap.charAt(56 / 4)) >= 0);
+        assertEquals('#', lines[0].charAt(11));
+    }
+
+    @Test
+    void shouldOnlyWriteChangedSpans() {
+        ViewportRenderer renderer = new ViewportRenderer(20, 5);
+        assertTrue(renderer.render(track, CAR_B).contains(Ansi.CLEAR_SCREEN));
+        // car A moves from (56, 3) to (55, 3), the viewport around car B stays in place
+        game.doCarTurn(Direction.LEFT);
+        String output = renderer.render(track, CAR_B);
+        assertFalse(output.contains(Ansi.CLEAR_SCREEN));
+        assertTrue(output.startsWith("\u001B[1;16HA "));
+    }
+}
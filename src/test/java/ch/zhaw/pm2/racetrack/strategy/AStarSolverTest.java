@@ -0,0 +1,88 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Config.StrategyType;
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.headless.RaceResult;
+import ch.zhaw.pm2.racetrack.headless.RaceRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AStarSolverTest {
+    private static final File CHALLENGE = new File("tracks/challenge.txt");
+    private static final int OPEN_TRACK_SIZE = 600;
+
+    @Test
+    void shouldWinAsFastAsOptimalSolverWithoutTimeLimit() throws FileNotFoundException, InvalidTrackFormatException {
+        Game game = new Game();
+        game.setTrack(new Track(CHALLENGE));
+        game.setMoveStrategy(0, StrategyType.A_STAR, new AStarSolver(game.getTrack(), 0, 60_000));
+        game.setStrategy(1, StrategyType.DO_NOT_MOVE, null);
+        RaceResult aStar = RaceRunner.run(game, 1000);
+        RaceResult optimal = RaceRunner.run(CHALLENGE, List.of(StrategyType.OPTIMAL_SOLVER, StrategyType.DO_NOT_MOVE), 1000);
+        assertEquals(0, aStar.getWinner());
+        assertEquals(optimal.getTurns(), aStar.getTurns());
+    }
+
+    @Test
+    void shouldAnswerWithinTimeBudgetAndReusePlan(@TempDir Path directory) throws IOException, InvalidTrackFormatException {
+        Track track = new Track(createOpenTrack(directory));
+        AStarSolver solver = new AStarSolver(track, 0, 1);
+        long start = System.nanoTime();
+        Direction first = solver.nextMove();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis < 500, "search took " + elapsedMillis + " ms");
+        assertNotEquals(Direction.NONE, first);
+        int remainingMoves = solver.getRemainingMoves();
+        track.getCar(0).accelerate(first);
+        track.getCar(0).move(track.getCar(0).getPositionX() + track.getCar(0).getVelocityX(),
+            track.getCar(0).getPositionY() + track.getCar(0).getVelocityY());
+        track.updateCarOnTrack(track.getCar(0).getPositionX(), track.getCar(0).getPositionY(), 0);
+        if (remainingMoves > 0) {
+            solver.nextMove();
+            assertEquals(remainingMoves - 1, solver.getRemainingMoves());
+        }
+    }
+
+    @Test
+    void shouldWinOnLargeOpenTrack(@TempDir Path directory) throws IOException, InvalidTrackFormatException {
+        RaceResult result = RaceRunner.run(createOpenTrack(directory), List.of(StrategyType.A_STAR), 1000);
+        assertEquals(RaceResult.Outcome.WINNER, result.getOutcome());
+    }
+
+    /**
+     * Creates a square track without obstacles, the car starts in the top left corner and
+     * has to cross the finish line in the bottom right corner to the right.
+     */
+    private static File createOpenTrack(Path directory) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int y = 0; y < OPEN_TRACK_SIZE; y++) {
+            for (int x = 0; x < OPEN_TRACK_SIZE; x++) {
+                if (x == 0 || y == 0 || x == OPEN_TRACK_SIZE - 1 || y == OPEN_TRACK_SIZE - 1) {
+                    content.append('#');
+                } else if (x == 1 && y == 1) {
+                    content.append('a');
+                } else if (x == OPEN_TRACK_SIZE - 3 && y > OPEN_TRACK_SIZE - 10) {
+                    content.append('>');
+                } else {
+                    content.append(' ');
+                }
+            }
+            content.append('\n');
+        }
+        return Files.writeString(directory.resolve("open.txt"), content).toFile();
+    }
+}
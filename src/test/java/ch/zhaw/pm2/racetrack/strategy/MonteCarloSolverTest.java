@@ -0,0 +1,76 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Config.StrategyType;
+import ch.zhaw.pm2.racetrack.Game;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.Track;
+import ch.zhaw.pm2.racetrack.headless.RaceResult;
+import ch.zhaw.pm2.racetrack.headless.RaceRunner;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MonteCarloSolverTest {
+    private static final File QUARTER_MILE = new File("tracks/quarter-mile.txt");
+    private static final File CHALLENGE = new File("tracks/challenge.txt");
+    private static final long TIME_BUDGET_MILLIS = 20;
+
+    @Test
+    void shouldWinWithoutCrashing() throws FileNotFoundException, InvalidTrackFormatException {
+        Game game = createGame(CHALLENGE, StrategyType.DO_NOT_MOVE);
+        MonteCarloSolver solver = (MonteCarloSolver) game.getTrack().getCar(0).getMoveStrategy();
+        RaceResult result = RaceRunner.run(game, 1000);
+        RaceResult optimal = RaceRunner.run(CHALLENGE, List.of(StrategyType.OPTIMAL_SOLVER, StrategyType.DO_NOT_MOVE), 1000);
+        assertEquals(0, result.getWinner());
+        assertTrue(result.getCrashedCars().isEmpty());
+        assertTrue(result.getTurns() <= 2 * optimal.getTurns(), "won after " + result.getTurns() + " turns");
+        assertTrue(solver.getTotalRollouts() > 0);
+        assertTrue(solver.getTotalSimulatedMoves() > solver.getTotalRollouts());
+        assertTrue(solver.getSimulatedMovesPerSecond() > 0);
+    }
+
+    @Test
+    void shouldNotCrashIntoMovingCar() throws FileNotFoundException, InvalidTrackFormatException {
+        Game game = createGame(QUARTER_MILE, StrategyType.MOVE_LIST);
+        RaceResult result = RaceRunner.run(game, 1000);
+        assertEquals(RaceResult.Outcome.WINNER, result.getOutcome());
+        assertTrue(result.getCrashedCars().stream().noneMatch(carIndex -> carIndex == 0));
+    }
+
+    @Test
+    void shouldSearchOnRaceThreadInHeadlessRaces() throws FileNotFoundException, InvalidTrackFormatException {
+        Game game = RaceRunner.createGame(QUARTER_MILE, List.of(StrategyType.MONTE_CARLO, StrategyType.DO_NOT_MOVE));
+        MonteCarloSolver solver = (MonteCarloSolver) game.getTrack().getCar(0).getMoveStrategy();
+        long workersBefore = countSearchWorkers();
+        solver.nextMove();
+        assertTrue(solver.getLastRollouts() > 0);
+        assertTrue(countSearchWorkers() <= workersBefore);
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() throws FileNotFoundException, InvalidTrackFormatException {
+        Game game = new Game();
+        game.setTrack(new Track(QUARTER_MILE));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloSolver(game, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloSolver(game, 0, TIME_BUDGET_MILLIS, 0, 1));
+    }
+
+    private static long countSearchWorkers() {
+        return Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("racetrack-mcts"))
+            .count();
+    }
+
+    private static Game createGame(File trackFile, StrategyType opponent)
+        throws FileNotFoundException, InvalidTrackFormatException {
+        Game game = RaceRunner.createGame(trackFile, List.of(StrategyType.DO_NOT_MOVE, opponent));
+        game.setMoveStrategy(0, StrategyType.MONTE_CARLO, new MonteCarloSolver(game, 0, TIME_BUDGET_MILLIS, 2, 42));
+        return game;
+    }
+}
@@ -0,0 +1,90 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.PositionVector;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MoveFileCursorTest {
+
+    @Test
+    void shouldSkipEmptyLinesAndLineEnds(@TempDir Path directory) throws IOException {
+        File file = Files.writeString(directory.resolve("moves.txt"), "\r\nUP\r\n\r\nDOWN_LEFT\nNONE").toFile();
+        MoveFileCursor cursor = new MoveFileCursor(file);
+        assertTrue(cursor.nextLine());
+        assertEquals("UP", cursor.getLine());
+        assertTrue(cursor.nextLine());
+        assertEquals("DOWN_LEFT", cursor.getLine());
+        assertTrue(cursor.nextLine());
+        assertEquals("NONE", cursor.getLine());
+        assertFalse(cursor.nextLine());
+        assertFalse(cursor.nextLine());
+    }
+
+    @Test
+    void shouldReadLinesAcrossBlocks(@TempDir Path directory) throws IOException {
+        String longLine = "x".repeat(3 * MoveFileCursor.BLOCK_SIZE);
+        StringBuilder content = new StringBuilder(longLine).append('\n');
+        int lines = 2 * MoveFileCursor.BLOCK_SIZE / "DOWN_LEFT\r\n".length();
+        for (int line = 0; line < lines; line++) {
+            content.append("DOWN_LEFT\r\n");
+        }
+        File file = Files.writeString(directory.resolve("moves.txt"), content).toFile();
+        MoveFileCursor cursor = new MoveFileCursor(file);
+        assertTrue(cursor.nextLine());
+        assertEquals(longLine, cursor.getLine());
+        for (int line = 0; line < lines; line++) {
+            assertTrue(cursor.nextLine());
+            assertEquals("DOWN_LEFT", cursor.getLine());
+        }
+        assertFalse(cursor.nextLine());
+    }
+
+    @Test
+    void shouldParseNumbersOfLine(@TempDir Path directory) throws IOException {
+        File file = Files.writeString(directory.resolve("positions.txt"), "123;-45\n7;x\n").toFile();
+        MoveFileCursor cursor = new MoveFileCursor(file);
+        cursor.nextLine();
+        assertEquals(123, cursor.getInt(0, ';'));
+        assertEquals(-45, cursor.getInt(1, ';'));
+        cursor.nextLine();
+        assertThrows(NumberFormatException.class, () -> cursor.getInt(1, ';'));
+        assertThrows(NumberFormatException.class, () -> cursor.getInt(2, ';'));
+    }
+
+    @Test
+    void shouldFailForMissingFile(@TempDir Path directory) {
+        assertThrows(UncheckedIOException.class, () -> new MoveFileCursor(directory.resolve("missing.txt").toFile()));
+    }
+
+    @Test
+    void shouldStopMovingAfterLastMove(@TempDir Path directory) throws IOException {
+        File file = Files.writeString(directory.resolve("moves.txt"), "RIGHT\nUP\n").toFile();
+        FileMovement fileMovement = new FileMovement(file);
+        assertEquals(Direction.RIGHT, fileMovement.nextMove());
+        assertEquals(Direction.UP, fileMovement.nextMove());
+        assertEquals(Direction.NONE, fileMovement.nextMove());
+        assertEquals(Direction.NONE, fileMovement.nextMove());
+    }
+
+    @Test
+    void shouldHeadBackToStartAfterLastPosition(@TempDir Path directory) throws IOException {
+        File file = Files.writeString(directory.resolve("positions.txt"), "6;5\n6;5\n").toFile();
+        PathFollower pathFollower = new PathFollower(file, new PositionVector(5, 5));
+        assertEquals(Direction.RIGHT, pathFollower.nextMove());
+        assertEquals(Direction.LEFT, pathFollower.nextMove());
+        assertEquals(Direction.LEFT, pathFollower.nextMove());
+        assertEquals(Direction.NONE, pathFollower.nextMove());
+    }
+}
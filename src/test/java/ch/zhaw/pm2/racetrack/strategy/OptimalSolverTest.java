@@ -0,0 +1,36 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.Config.StrategyType;
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.headless.RaceResult;
+import ch.zhaw.pm2.racetrack.headless.RaceRunner;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OptimalSolverTest {
+
+    @Test
+    void shouldWinFasterThanMoveList() throws FileNotFoundException, InvalidTrackFormatException {
+        File challenge = new File("tracks/challenge.txt");
+        RaceResult solver = RaceRunner.run(challenge, List.of(StrategyType.OPTIMAL_SOLVER, StrategyType.DO_NOT_MOVE), 1000);
+        RaceResult moveList = RaceRunner.run(challenge, List.of(StrategyType.MOVE_LIST, StrategyType.DO_NOT_MOVE), 1000);
+        assertEquals(0, solver.getWinner());
+        assertEquals(0, moveList.getWinner());
+        assertTrue(solver.getTurns() < moveList.getTurns());
+        assertTrue(solver.getCrashedCars().isEmpty());
+    }
+
+    @Test
+    void shouldWinAgainstEachOtherWithoutCrash() throws FileNotFoundException, InvalidTrackFormatException {
+        RaceResult result = RaceRunner.run(new File("tracks/oval-anticlock-right.txt"),
+            List.of(StrategyType.OPTIMAL_SOLVER, StrategyType.OPTIMAL_SOLVER), 1000);
+        assertEquals(RaceResult.Outcome.WINNER, result.getOutcome());
+        assertTrue(result.getCrashedCars().isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedMoveListTest {
+
+    @Test
+    void shouldDecodeEncodedMovesWithRuns() {
+        List<Direction> moves = new ArrayList<>();
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            Direction direction = Direction.values()[random.nextInt(Direction.values().length)];
+            int length = 1 + random.nextInt(run % 10 == 0 ? 1000 : 6);
+            for (int move = 0; move < length; move++) {
+                moves.add(direction);
+            }
+        }
+        PackedMoveWriter writer = new PackedMoveWriter();
+        moves.forEach(writer::add);
+        PackedMoveReader reader = new PackedMoveReader(ByteBuffer.wrap(writer.toByteArray()));
+        for (Direction move : moves) {
+            assertTrue(reader.hasNext());
+            assertEquals(move, reader.next());
+        }
+        assertFalse(reader.hasNext());
+        assertEquals(Direction.NONE, reader.next());
+    }
+
+    @Test
+    void shouldPackLongRunIntoFewBytes() {
+        PackedMoveWriter writer = new PackedMoveWriter();
+        for (int move = 0; move < 100_000; move++) {
+            writer.add(Direction.NONE);
+        }
+        byte[] bytes = writer.toByteArray();
+        assertTrue(bytes.length <= PackedMoveList.HEADER_LENGTH + 5);
+        PackedMoveReader reader = new PackedMoveReader(ByteBuffer.wrap(bytes));
+        assertEquals(100_000, reader.getRemainingMoves());
+    }
+
+    @Test
+    void shouldRejectContentWithoutHeader() {
+        assertThrows(IllegalArgumentException.class, () -> new PackedMoveReader(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+    }
+
+    @Test
+    void shouldReplayConvertedMoveList(@TempDir Path directory) throws IOException {
+        File textFile = Files.writeString(directory.resolve("moves.txt"),
+            "RIGHT\nRIGHT\nRIGHT\nRIGHT\nRIGHT\nUP\nNONE\n").toFile();
+        File packedFile = PackedMoveList.getPackedFile(textFile);
+        assertEquals(7, MoveListConverter.convert(textFile, packedFile));
+        assertTrue(PackedMoveList.isPacked(packedFile));
+        assertFalse(PackedMoveList.isPacked(textFile));
+        FileMovement text = new FileMovement(textFile);
+        FileMovement packed = new FileMovement(packedFile);
+        for (int move = 0; move < 9; move++) {
+            assertEquals(text.nextMove(), packed.nextMove());
+        }
+    }
+}
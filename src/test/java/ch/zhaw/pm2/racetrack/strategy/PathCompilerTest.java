@@ -0,0 +1,86 @@
+package ch.zhaw.pm2.racetrack.strategy;
+
+import ch.zhaw.pm2.racetrack.InvalidTrackFormatException;
+import ch.zhaw.pm2.racetrack.PositionVector;
+import ch.zhaw.pm2.racetrack.PositionVector.Direction;
+import ch.zhaw.pm2.racetrack.Track;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathCompilerTest {
+    private static final PositionVector START = new PositionVector(56, 3);
+
+    @TempDir
+    Path directory;
+    private Track track;
+
+    @BeforeEach
+    void initializeTrack() throws IOException, InvalidTrackFormatException {
+        track = new Track(new File("tracks/quarter-mile.txt"));
+    }
+
+    @Test
+    void shouldCompileMovesUntilFinishLine() throws IOException {
+        File followerFile = createFollowerFile("55;3\n53;3\n50;3\n46;3\n41;3\n35;3\n28;3\n20;3\n12;3\n4;3\n9;9\n");
+        PackedMoveReader moves = new PackedMoveReader(ByteBuffer.wrap(PathCompiler.compile(track, followerFile, START)));
+        assertEquals(10, moves.getRemainingMoves());
+        for (int move = 0; move < 8; move++) {
+            assertEquals(Direction.LEFT, moves.next());
+        }
+        assertEquals(Direction.NONE, moves.next());
+        assertEquals(Direction.NONE, moves.next());
+    }
+
+    @Test
+    void shouldCacheCompiledMoves() throws IOException {
+        File followerFile = createFollowerFile("55;3\n53;3\n50;3\n46;3\n41;3\n35;3\n28;3\n20;3\n12;3\n4;3\n");
+        assertSame(PathCompiler.compile(track, followerFile, START), PathCompiler.compile(track, followerFile, START));
+    }
+
+    @Test
+    void shouldReportUnreachablePosition() throws IOException {
+        assertInvalid("55;3\n55;3\n57;3\n", "position 3 (57;3) needs the acceleration (2, 0)");
+        assertInvalid("55;3\n52;3\n", "position 2 (52;3) needs the acceleration (-2, 0)");
+    }
+
+    @Test
+    void shouldReportCrashIntoWall() throws IOException {
+        assertInvalid("56;2\n56;0\n", "position 2 (56;0) crashes into the wall at 56;1");
+    }
+
+    @Test
+    void shouldReportMissingFinishLineCrossing() throws IOException {
+        assertInvalid("55;3\n", "does not cross the finish line");
+        assertInvalid("55;x\n", "position 1 (55;x) is not a position");
+    }
+
+    @Test
+    void shouldRejectShippedFollowerFileWithImpossibleAcceleration() throws IOException, InvalidTrackFormatException {
+        Track ovalClockUp = new Track(new File("tracks/oval-clock-up.txt"));
+        assertThrows(InvalidFollowerFileException.class, () -> new PathFollower(ovalClockUp,
+            "tracks/oval-clock-up.txt", "a", ovalClockUp.getCarPos(0)));
+    }
+
+    private void assertInvalid(String content, String expectedMessage) throws IOException {
+        File followerFile = createFollowerFile(content);
+        InvalidFollowerFileException exception = assertThrows(InvalidFollowerFileException.class,
+            () -> PathCompiler.compile(track, followerFile, START));
+        assertTrue(exception.getMessage().contains(expectedMessage), exception.getMessage());
+    }
+
+    private File createFollowerFile(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(directory, "follower", ".txt"), content).toFile();
+    }
+}